@@ -7,6 +7,8 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.lang.reflect.Field;
 
+import org.joe_e.DeepFreeze;
+
 /**
  * This class provides a method for deep-copying an object via
  * serialization. After ensuring that the object (and it's 
@@ -37,6 +39,20 @@ public class Cloner {
 		return ret;
 	}
 	
+	/**
+	 * Returns o itself if the object graph reachable from it is immutable,
+	 * since such a graph can be shared between threads without copying.
+	 * Otherwise returns a deep copy of o.
+	 * @param o
+	 * @return o, or a deep copy of it
+	 */
+	public static Object copyUnlessFrozen(Object o) throws IOException, ClassNotFoundException {
+		if (DeepFreeze.check(o).isFrozen()) {
+			return o;
+		}
+		return deepCopy(o);
+	}
+	
 	/**
 	 * Walk the object graph reachable from o and check that
 	 * each object implements the Serializable interface. returns
@@ -154,8 +154,10 @@ public class Dispatcher extends HttpServlet {
 		JoeEServlet servlet = findServlet(session, req.getServletPath());
 
 		// Check the CSRF token. You should do this on every POST request
-		if (req.getParameter("__joe-e__csrftoken") == null || !req.getParameter("__joe-e__csrftoken").equals(session.getAttribute(servlet.getClass().getSimpleName()+"__token"))) {
-			throw new ServletException ("CSRF attempt: " + req.getParameter("__joe-e__csrftoken") + " " + session.getAttribute(servlet.getClass().getSimpleName()+"__token"));
+		String token = req.getParameter("__joe-e__csrftoken");
+		Object expected = session.getAttribute(servlet.getClass().getSimpleName()+"__token");
+		if (token == null || !token.equals(expected)) {
+			throw new ServletException ("CSRF attempt: " + token + " " + expected);
 		}
 
 		AbstractSessionView sessionview = servlet.getSessionView(session);
@@ -8,21 +8,36 @@ import java.util.HashSet;
 public class Policy {
     private Policy() {}
 
-    private static HashMap<String, String[]> honoraries = 
-        new HashMap<String, String[]>();
+    public static final int SELFLESS = 0x0001;
+    public static final int IMMUTABLE = 0x0002;
+    public static final int POWERLESS = 0x0004;
+    public static final int EQUATABLE = 0x0010;
+
+    private static HashMap<String, Integer> honoraries = 
+        new HashMap<String, Integer>();
     private static HashSet<String> fields = new HashSet<String>();
     private static HashSet<String> constructors = new HashSet<String>();
     private static HashSet<String> methods = new HashSet<String>();
 
+    public static int honoraryMask(String type) {
+        Integer mask = honoraries.get(type);
+        return (mask == null) ? 0 : mask;
+    }
+
     public static boolean hasHonorary(String type, String honorary) {
-        if (honoraries.containsKey(type)) {
-            for (String hon : honoraries.get(type)) {
-                if (hon.equals(honorary)) {
-                    return true;
-                }
-            }
+        int bit;
+        if (honorary.equals("org.joe_e.Selfless")) {
+            bit = SELFLESS;
+        } else if (honorary.equals("org.joe_e.Immutable")) {
+            bit = IMMUTABLE;
+        } else if (honorary.equals("org.joe_e.Powerless")) {
+            bit = POWERLESS;
+        } else if (honorary.equals("org.joe_e.Equatable")) {
+            bit = EQUATABLE;
+        } else {
+            return false;
         }
-        return false;
+        return (honoraryMask(type) & bit) != 0;
     }
 
     public static boolean fieldEnabled(String fieldSig) {
@@ -219,21 +234,21 @@ public class Policy {
         methods.add("java.io.Writer.append(char)");
 
         // Type java.lang.AbstractMethodError
-        honoraries.put("java.lang.AbstractMethodError", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.AbstractMethodError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.Appendable
 
         // Type java.lang.ArithmeticException
-        honoraries.put("java.lang.ArithmeticException", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.ArithmeticException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.ArrayIndexOutOfBoundsException
-        honoraries.put("java.lang.ArrayIndexOutOfBoundsException", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.ArrayIndexOutOfBoundsException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.ArrayStoreException
-        honoraries.put("java.lang.ArrayStoreException", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.ArrayStoreException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.AssertionError
-        honoraries.put("java.lang.AssertionError", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.AssertionError", IMMUTABLE | POWERLESS);
         constructors.add("java.lang.AssertionError(char)");
         constructors.add("java.lang.AssertionError(double)");
         constructors.add("java.lang.AssertionError(float)");
@@ -243,7 +258,7 @@ public class Policy {
         constructors.add("java.lang.AssertionError(int)");
 
         // Type java.lang.Boolean
-        honoraries.put("java.lang.Boolean", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless", "org.joe_e.Selfless"});
+        honoraries.put("java.lang.Boolean", IMMUTABLE | POWERLESS | SELFLESS);
         fields.add("java.lang.Boolean.TRUE");
         fields.add("java.lang.Boolean.TYPE");
         fields.add("java.lang.Boolean.FALSE");
@@ -260,7 +275,7 @@ public class Policy {
         methods.add("java.lang.Boolean.valueOf(String)");
 
         // Type java.lang.Byte
-        honoraries.put("java.lang.Byte", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless", "org.joe_e.Selfless"});
+        honoraries.put("java.lang.Byte", IMMUTABLE | POWERLESS | SELFLESS);
         fields.add("java.lang.Byte.MAX_VALUE");
         fields.add("java.lang.Byte.TYPE");
         fields.add("java.lang.Byte.SIZE");
@@ -288,7 +303,7 @@ public class Policy {
         // Type java.lang.CharSequence
 
         // Type java.lang.Character
-        honoraries.put("java.lang.Character", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless", "org.joe_e.Selfless"});
+        honoraries.put("java.lang.Character", IMMUTABLE | POWERLESS | SELFLESS);
         fields.add("java.lang.Character.DIRECTIONALITY_EUROPEAN_NUMBER_TERMINATOR");
         fields.add("java.lang.Character.OTHER_SYMBOL");
         fields.add("java.lang.Character.DIRECTIONALITY_RIGHT_TO_LEFT");
@@ -437,20 +452,20 @@ public class Policy {
         // Type java.lang.Character$UnicodeBlock
 
         // Type java.lang.ClassCastException
-        honoraries.put("java.lang.ClassCastException", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.ClassCastException", IMMUTABLE | POWERLESS);
         constructors.add("java.lang.ClassCastException()");
         constructors.add("java.lang.ClassCastException(String)");
 
         // Type java.lang.ClassCircularityError
-        honoraries.put("java.lang.ClassCircularityError", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.ClassCircularityError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.ClassFormatError
-        honoraries.put("java.lang.ClassFormatError", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.ClassFormatError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.ClassLoader
 
         // Type java.lang.ClassNotFoundException
-        honoraries.put("java.lang.ClassNotFoundException", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.ClassNotFoundException", IMMUTABLE | POWERLESS);
         constructors.add("java.lang.ClassNotFoundException(String, Throwable)");
         constructors.add("java.lang.ClassNotFoundException()");
         constructors.add("java.lang.ClassNotFoundException(String)");
@@ -458,7 +473,7 @@ public class Policy {
         methods.add("java.lang.ClassNotFoundException.getException()");
 
         // Type java.lang.CloneNotSupportedException
-        honoraries.put("java.lang.CloneNotSupportedException", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.CloneNotSupportedException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.Cloneable
 
@@ -469,7 +484,7 @@ public class Policy {
         // Type java.lang.Deprecated
 
         // Type java.lang.Double
-        honoraries.put("java.lang.Double", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless", "org.joe_e.Selfless"});
+        honoraries.put("java.lang.Double", IMMUTABLE | POWERLESS | SELFLESS);
         fields.add("java.lang.Double.POSITIVE_INFINITY");
         fields.add("java.lang.Double.NaN");
         fields.add("java.lang.Double.SIZE");
@@ -504,7 +519,7 @@ public class Policy {
         methods.add("java.lang.Double.doubleToLongBits(double)");
 
         // Type java.lang.Enum
-        honoraries.put("java.lang.Enum", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless", "org.joe_e.Equatable"});
+        honoraries.put("java.lang.Enum", IMMUTABLE | POWERLESS | EQUATABLE);
         methods.add("java.lang.Enum.equals(Object)");
         methods.add("java.lang.Enum.clone()");
         methods.add("java.lang.Enum.getDeclaringClass()");
@@ -512,24 +527,24 @@ public class Policy {
         methods.add("java.lang.Enum.compareTo(E)");
 
         // Type java.lang.EnumConstantNotPresentException
-        honoraries.put("java.lang.EnumConstantNotPresentException", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.EnumConstantNotPresentException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.Error
-        honoraries.put("java.lang.Error", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.Error", IMMUTABLE | POWERLESS);
         constructors.add("java.lang.Error(Throwable)");
         constructors.add("java.lang.Error(String)");
         constructors.add("java.lang.Error(String, Throwable)");
         constructors.add("java.lang.Error()");
 
         // Type java.lang.Exception
-        honoraries.put("java.lang.Exception", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.Exception", IMMUTABLE | POWERLESS);
         constructors.add("java.lang.Exception(Throwable)");
         constructors.add("java.lang.Exception(String, Throwable)");
         constructors.add("java.lang.Exception(String)");
         constructors.add("java.lang.Exception()");
 
         // Type java.lang.ExceptionInInitializerError
-        honoraries.put("java.lang.ExceptionInInitializerError", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.ExceptionInInitializerError", IMMUTABLE | POWERLESS);
         constructors.add("java.lang.ExceptionInInitializerError(Throwable)");
         constructors.add("java.lang.ExceptionInInitializerError(String)");
         constructors.add("java.lang.ExceptionInInitializerError()");
@@ -537,7 +552,7 @@ public class Policy {
         methods.add("java.lang.ExceptionInInitializerError.getCause()");
 
         // Type java.lang.Float
-        honoraries.put("java.lang.Float", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless", "org.joe_e.Selfless"});
+        honoraries.put("java.lang.Float", IMMUTABLE | POWERLESS | SELFLESS);
         fields.add("java.lang.Float.MIN_VALUE");
         fields.add("java.lang.Float.MAX_VALUE");
         fields.add("java.lang.Float.TYPE");
@@ -573,43 +588,43 @@ public class Policy {
         methods.add("java.lang.Float.toString(float)");
 
         // Type java.lang.IllegalAccessError
-        honoraries.put("java.lang.IllegalAccessError", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.IllegalAccessError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.IllegalAccessException
-        honoraries.put("java.lang.IllegalAccessException", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.IllegalAccessException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.IllegalArgumentException
-        honoraries.put("java.lang.IllegalArgumentException", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.IllegalArgumentException", IMMUTABLE | POWERLESS);
         constructors.add("java.lang.IllegalArgumentException()");
         constructors.add("java.lang.IllegalArgumentException(String, Throwable)");
         constructors.add("java.lang.IllegalArgumentException(String)");
         constructors.add("java.lang.IllegalArgumentException(Throwable)");
 
         // Type java.lang.IllegalMonitorStateException
-        honoraries.put("java.lang.IllegalMonitorStateException", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.IllegalMonitorStateException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.IllegalStateException
-        honoraries.put("java.lang.IllegalStateException", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.IllegalStateException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.IllegalThreadStateException
-        honoraries.put("java.lang.IllegalThreadStateException", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.IllegalThreadStateException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.IncompatibleClassChangeError
-        honoraries.put("java.lang.IncompatibleClassChangeError", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.IncompatibleClassChangeError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.IndexOutOfBoundsException
-        honoraries.put("java.lang.IndexOutOfBoundsException", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.IndexOutOfBoundsException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.InheritableThreadLocal
 
         // Type java.lang.InstantiationError
-        honoraries.put("java.lang.InstantiationError", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.InstantiationError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.InstantiationException
-        honoraries.put("java.lang.InstantiationException", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.InstantiationException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.Integer
-        honoraries.put("java.lang.Integer", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless", "org.joe_e.Selfless"});
+        honoraries.put("java.lang.Integer", IMMUTABLE | POWERLESS | SELFLESS);
         fields.add("java.lang.Integer.MIN_VALUE");
         fields.add("java.lang.Integer.SIZE");
         fields.add("java.lang.Integer.TYPE");
@@ -649,18 +664,18 @@ public class Policy {
         methods.add("java.lang.Integer.longValue()");
 
         // Type java.lang.InternalError
-        honoraries.put("java.lang.InternalError", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.InternalError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.InterruptedException
-        honoraries.put("java.lang.InterruptedException", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.InterruptedException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.Iterable
 
         // Type java.lang.LinkageError
-        honoraries.put("java.lang.LinkageError", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.LinkageError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.Long
-        honoraries.put("java.lang.Long", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless", "org.joe_e.Selfless"});
+        honoraries.put("java.lang.Long", IMMUTABLE | POWERLESS | SELFLESS);
         fields.add("java.lang.Long.MAX_VALUE");
         fields.add("java.lang.Long.SIZE");
         fields.add("java.lang.Long.TYPE");
@@ -702,30 +717,30 @@ public class Policy {
         // Type java.lang.Math
 
         // Type java.lang.NegativeArraySizeException
-        honoraries.put("java.lang.NegativeArraySizeException", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.NegativeArraySizeException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.NoClassDefFoundError
-        honoraries.put("java.lang.NoClassDefFoundError", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.NoClassDefFoundError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.NoSuchFieldError
-        honoraries.put("java.lang.NoSuchFieldError", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.NoSuchFieldError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.NoSuchFieldException
-        honoraries.put("java.lang.NoSuchFieldException", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.NoSuchFieldException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.NoSuchMethodError
-        honoraries.put("java.lang.NoSuchMethodError", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.NoSuchMethodError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.NoSuchMethodException
-        honoraries.put("java.lang.NoSuchMethodException", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.NoSuchMethodException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.NullPointerException
-        honoraries.put("java.lang.NullPointerException", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.NullPointerException", IMMUTABLE | POWERLESS);
         constructors.add("java.lang.NullPointerException(String)");
         constructors.add("java.lang.NullPointerException()");
 
         // Type java.lang.Number
-        honoraries.put("java.lang.Number", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless", "org.joe_e.Selfless"});
+        honoraries.put("java.lang.Number", IMMUTABLE | POWERLESS | SELFLESS);
         methods.add("java.lang.Number.longValue()");
         methods.add("java.lang.Number.doubleValue()");
         methods.add("java.lang.Number.shortValue()");
@@ -734,7 +749,7 @@ public class Policy {
         methods.add("java.lang.Number.floatValue()");
 
         // Type java.lang.NumberFormatException
-        honoraries.put("java.lang.NumberFormatException", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.NumberFormatException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.Object
         constructors.add("java.lang.Object()");
@@ -743,7 +758,7 @@ public class Policy {
         methods.add("java.lang.Object.clone()");
 
         // Type java.lang.OutOfMemoryError
-        honoraries.put("java.lang.OutOfMemoryError", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.OutOfMemoryError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.Override
 
@@ -760,7 +775,7 @@ public class Policy {
         // Type java.lang.Runtime
 
         // Type java.lang.RuntimeException
-        honoraries.put("java.lang.RuntimeException", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.RuntimeException", IMMUTABLE | POWERLESS);
         constructors.add("java.lang.RuntimeException(Throwable)");
         constructors.add("java.lang.RuntimeException(String)");
         constructors.add("java.lang.RuntimeException()");
@@ -769,12 +784,12 @@ public class Policy {
         // Type java.lang.RuntimePermission
 
         // Type java.lang.SecurityException
-        honoraries.put("java.lang.SecurityException", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.SecurityException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.SecurityManager
 
         // Type java.lang.Short
-        honoraries.put("java.lang.Short", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless", "org.joe_e.Selfless"});
+        honoraries.put("java.lang.Short", IMMUTABLE | POWERLESS | SELFLESS);
         fields.add("java.lang.Short.MIN_VALUE");
         fields.add("java.lang.Short.TYPE");
         fields.add("java.lang.Short.SIZE");
@@ -801,7 +816,7 @@ public class Policy {
         methods.add("java.lang.Short.compareTo(Short)");
 
         // Type java.lang.StackOverflowError
-        honoraries.put("java.lang.StackOverflowError", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.StackOverflowError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.StackTraceElement
         methods.add("java.lang.StackTraceElement.equals(Object)");
@@ -809,7 +824,7 @@ public class Policy {
         // Type java.lang.StrictMath
 
         // Type java.lang.String
-        honoraries.put("java.lang.String", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless", "org.joe_e.Selfless"});
+        honoraries.put("java.lang.String", IMMUTABLE | POWERLESS | SELFLESS);
         fields.add("java.lang.String.CASE_INSENSITIVE_ORDER");
         constructors.add("java.lang.String(StringBuffer)");
         constructors.add("java.lang.String(StringBuilder)");
@@ -874,7 +889,7 @@ public class Policy {
         // Type java.lang.StringBuilder
 
         // Type java.lang.StringIndexOutOfBoundsException
-        honoraries.put("java.lang.StringIndexOutOfBoundsException", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.StringIndexOutOfBoundsException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.SuppressWarnings
 
@@ -884,19 +899,19 @@ public class Policy {
         // Type java.lang.Thread
 
         // Type java.lang.Thread$State
-        honoraries.put("java.lang.Thread$State", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless", "org.joe_e.Equatable"});
+        honoraries.put("java.lang.Thread$State", IMMUTABLE | POWERLESS | EQUATABLE);
 
         // Type java.lang.Thread$UncaughtExceptionHandler
 
         // Type java.lang.ThreadDeath
-        honoraries.put("java.lang.ThreadDeath", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.ThreadDeath", IMMUTABLE | POWERLESS);
 
         // Type java.lang.ThreadGroup
 
         // Type java.lang.ThreadLocal
 
         // Type java.lang.Throwable
-        honoraries.put("java.lang.Throwable", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.Throwable", IMMUTABLE | POWERLESS);
         constructors.add("java.lang.Throwable(String)");
         constructors.add("java.lang.Throwable()");
         constructors.add("java.lang.Throwable(String, Throwable)");
@@ -904,29 +919,29 @@ public class Policy {
         methods.add("java.lang.Throwable.getCause()");
 
         // Type java.lang.TypeNotPresentException
-        honoraries.put("java.lang.TypeNotPresentException", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.TypeNotPresentException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.UnknownError
-        honoraries.put("java.lang.UnknownError", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.UnknownError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.UnsatisfiedLinkError
-        honoraries.put("java.lang.UnsatisfiedLinkError", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.UnsatisfiedLinkError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.UnsupportedClassVersionError
-        honoraries.put("java.lang.UnsupportedClassVersionError", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.UnsupportedClassVersionError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.UnsupportedOperationException
-        honoraries.put("java.lang.UnsupportedOperationException", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.UnsupportedOperationException", IMMUTABLE | POWERLESS);
         constructors.add("java.lang.UnsupportedOperationException(String)");
         constructors.add("java.lang.UnsupportedOperationException()");
         constructors.add("java.lang.UnsupportedOperationException(String, Throwable)");
         constructors.add("java.lang.UnsupportedOperationException(Throwable)");
 
         // Type java.lang.VerifyError
-        honoraries.put("java.lang.VerifyError", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.VerifyError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.VirtualMachineError
-        honoraries.put("java.lang.VirtualMachineError", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.VirtualMachineError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.Void
 
@@ -937,7 +952,7 @@ public class Policy {
         // Type java.lang.annotation.Documented
 
         // Type java.lang.annotation.ElementType
-        honoraries.put("java.lang.annotation.ElementType", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless", "org.joe_e.Equatable"});
+        honoraries.put("java.lang.annotation.ElementType", IMMUTABLE | POWERLESS | EQUATABLE);
         fields.add("java.lang.annotation.ElementType.TYPE");
         fields.add("java.lang.annotation.ElementType.FIELD");
         fields.add("java.lang.annotation.ElementType.PARAMETER");
@@ -954,7 +969,7 @@ public class Policy {
         // Type java.lang.annotation.Retention
 
         // Type java.lang.annotation.RetentionPolicy
-        honoraries.put("java.lang.annotation.RetentionPolicy", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless", "org.joe_e.Equatable"});
+        honoraries.put("java.lang.annotation.RetentionPolicy", IMMUTABLE | POWERLESS | EQUATABLE);
         fields.add("java.lang.annotation.RetentionPolicy.RUNTIME");
         fields.add("java.lang.annotation.RetentionPolicy.SOURCE");
         fields.add("java.lang.annotation.RetentionPolicy.CLASS");
@@ -970,7 +985,7 @@ public class Policy {
         // Type java.lang.reflect.Array
 
         // Type java.lang.reflect.Constructor
-        honoraries.put("java.lang.reflect.Constructor", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless", "org.joe_e.Selfless"});
+        honoraries.put("java.lang.reflect.Constructor", IMMUTABLE | POWERLESS | SELFLESS);
         methods.add("java.lang.reflect.Constructor.toGenericString()");
         methods.add("java.lang.reflect.Constructor.equals(Object)");
         methods.add("java.lang.reflect.Constructor.toString()");
@@ -984,7 +999,7 @@ public class Policy {
         methods.add("java.lang.reflect.Constructor.getTypeParameters()");
 
         // Type java.lang.reflect.Field
-        honoraries.put("java.lang.reflect.Field", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless", "org.joe_e.Selfless"});
+        honoraries.put("java.lang.reflect.Field", IMMUTABLE | POWERLESS | SELFLESS);
         methods.add("java.lang.reflect.Field.equals(Object)");
 
         // Type java.lang.reflect.GenericArrayType
@@ -993,12 +1008,12 @@ public class Policy {
         methods.add("java.lang.reflect.GenericDeclaration.getTypeParameters()");
 
         // Type java.lang.reflect.GenericSignatureFormatError
-        honoraries.put("java.lang.reflect.GenericSignatureFormatError", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.reflect.GenericSignatureFormatError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.reflect.InvocationHandler
 
         // Type java.lang.reflect.InvocationTargetException
-        honoraries.put("java.lang.reflect.InvocationTargetException", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.reflect.InvocationTargetException", IMMUTABLE | POWERLESS);
         constructors.add("java.lang.reflect.InvocationTargetException()");
         constructors.add("java.lang.reflect.InvocationTargetException(Throwable, String)");
         constructors.add("java.lang.reflect.InvocationTargetException(Throwable)");
@@ -1006,12 +1021,12 @@ public class Policy {
         methods.add("java.lang.reflect.InvocationTargetException.getTargetException()");
 
         // Type java.lang.reflect.MalformedParameterizedTypeException
-        honoraries.put("java.lang.reflect.MalformedParameterizedTypeException", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.reflect.MalformedParameterizedTypeException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.reflect.Member
 
         // Type java.lang.reflect.Method
-        honoraries.put("java.lang.reflect.Method", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless", "org.joe_e.Selfless"});
+        honoraries.put("java.lang.reflect.Method", IMMUTABLE | POWERLESS | SELFLESS);
         methods.add("java.lang.reflect.Method.equals(Object)");
         methods.add("java.lang.reflect.Method.getParameterTypes()");
         methods.add("java.lang.reflect.Method.toString()");
@@ -1031,7 +1046,7 @@ public class Policy {
         // Type java.lang.reflect.Modifier
 
         // Type java.lang.reflect.ParameterizedType
-        honoraries.put("java.lang.reflect.ParameterizedType", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.reflect.ParameterizedType", IMMUTABLE | POWERLESS);
         methods.add("java.lang.reflect.ParameterizedType.getOwnerType()");
         methods.add("java.lang.reflect.ParameterizedType.getRawType()");
         methods.add("java.lang.reflect.ParameterizedType.getActualTypeArguments()");
@@ -1043,23 +1058,23 @@ public class Policy {
         // Type java.lang.reflect.Type
 
         // Type java.lang.reflect.TypeVariable
-        honoraries.put("java.lang.reflect.TypeVariable", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless", "org.joe_e.Selfless"});
+        honoraries.put("java.lang.reflect.TypeVariable", IMMUTABLE | POWERLESS | SELFLESS);
         methods.add("java.lang.reflect.TypeVariable.getName()");
         methods.add("java.lang.reflect.TypeVariable.getGenericDeclaration()");
 
         // Type java.lang.reflect.UndeclaredThrowableException
-        honoraries.put("java.lang.reflect.UndeclaredThrowableException", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.reflect.UndeclaredThrowableException", IMMUTABLE | POWERLESS);
         constructors.add("java.lang.reflect.UndeclaredThrowableException(Throwable)");
         constructors.add("java.lang.reflect.UndeclaredThrowableException(Throwable, String)");
         methods.add("java.lang.reflect.UndeclaredThrowableException.getUndeclaredThrowable()");
         methods.add("java.lang.reflect.UndeclaredThrowableException.getCause()");
 
         // Type java.lang.reflect.WildcardType
-        honoraries.put("java.lang.reflect.WildcardType", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.lang.reflect.WildcardType", IMMUTABLE | POWERLESS);
         methods.add("java.lang.reflect.WildcardType.getUpperBounds()");
 
         // Type java.math.BigDecimal
-        honoraries.put("java.math.BigDecimal", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless", "org.joe_e.Selfless"});
+        honoraries.put("java.math.BigDecimal", IMMUTABLE | POWERLESS | SELFLESS);
         fields.add("java.math.BigDecimal.ROUND_DOWN");
         fields.add("java.math.BigDecimal.TEN");
         fields.add("java.math.BigDecimal.ROUND_UNNECESSARY");
@@ -1149,7 +1164,7 @@ public class Policy {
         methods.add("java.math.BigDecimal.toEngineeringString()");
 
         // Type java.math.BigInteger
-        honoraries.put("java.math.BigInteger", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless", "org.joe_e.Selfless"});
+        honoraries.put("java.math.BigInteger", IMMUTABLE | POWERLESS | SELFLESS);
         fields.add("java.math.BigInteger.TEN");
         fields.add("java.math.BigInteger.ZERO");
         fields.add("java.math.BigInteger.ONE");
@@ -1203,7 +1218,7 @@ public class Policy {
         methods.add("java.math.BigInteger.remainder(BigInteger)");
 
         // Type java.math.MathContext
-        honoraries.put("java.math.MathContext", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless", "org.joe_e.Selfless"});
+        honoraries.put("java.math.MathContext", IMMUTABLE | POWERLESS | SELFLESS);
         fields.add("java.math.MathContext.DECIMAL64");
         fields.add("java.math.MathContext.UNLIMITED");
         fields.add("java.math.MathContext.DECIMAL32");
@@ -1218,7 +1233,7 @@ public class Policy {
         methods.add("java.math.MathContext.equals(Object)");
 
         // Type java.math.RoundingMode
-        honoraries.put("java.math.RoundingMode", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless", "org.joe_e.Equatable"});
+        honoraries.put("java.math.RoundingMode", IMMUTABLE | POWERLESS | EQUATABLE);
         fields.add("java.math.RoundingMode.UP");
         fields.add("java.math.RoundingMode.HALF_UP");
         fields.add("java.math.RoundingMode.FLOOR");
@@ -1511,7 +1526,7 @@ public class Policy {
         // Type java.util.MissingResourceException
 
         // Type java.util.NoSuchElementException
-        honoraries.put("java.util.NoSuchElementException", new String[]{"org.joe_e.Immutable", "org.joe_e.Powerless"});
+        honoraries.put("java.util.NoSuchElementException", IMMUTABLE | POWERLESS);
         constructors.add("java.util.NoSuchElementException()");
         constructors.add("java.util.NoSuchElementException(String)");
 
@@ -8,21 +8,36 @@ import java.util.HashSet;
 public class Policy {
     private Policy() {}
 
-    private static HashMap<String, String[]> honoraries = 
-        new HashMap<String, String[]>();
+    public static final int SELFLESS = 0x0001;
+    public static final int IMMUTABLE = 0x0002;
+    public static final int POWERLESS = 0x0004;
+    public static final int EQUATABLE = 0x0010;
+
+    private static HashMap<String, Integer> honoraries = 
+        new HashMap<String, Integer>();
     private static HashSet<String> fields = new HashSet<String>();
     private static HashSet<String> constructors = new HashSet<String>();
     private static HashSet<String> methods = new HashSet<String>();
 
+    public static int honoraryMask(String type) {
+        Integer mask = honoraries.get(type);
+        return (mask == null) ? 0 : mask;
+    }
+
     public static boolean hasHonorary(String type, String honorary) {
-        if (honoraries.containsKey(type)) {
-            for (String hon : honoraries.get(type)) {
-                if (hon.equals(honorary)) {
-                    return true;
-                }
-            }
+        int bit;
+        if (honorary.equals("org.joe_e.Selfless")) {
+            bit = SELFLESS;
+        } else if (honorary.equals("org.joe_e.Immutable")) {
+            bit = IMMUTABLE;
+        } else if (honorary.equals("org.joe_e.Powerless")) {
+            bit = POWERLESS;
+        } else if (honorary.equals("org.joe_e.Equatable")) {
+            bit = EQUATABLE;
+        } else {
+            return false;
         }
-        return false;
+        return (honoraryMask(type) & bit) != 0;
     }
 
     public static boolean fieldEnabled(String fieldSig) {
@@ -49,21 +64,21 @@ public class Policy {
         // Type java.io.Serializable
 
         // Type java.lang.AbstractMethodError
-        honoraries.put("java.lang.AbstractMethodError", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.AbstractMethodError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.Appendable
 
         // Type java.lang.ArithmeticException
-        honoraries.put("java.lang.ArithmeticException", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.ArithmeticException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.ArrayIndexOutOfBoundsException
-        honoraries.put("java.lang.ArrayIndexOutOfBoundsException", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.ArrayIndexOutOfBoundsException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.ArrayStoreException
-        honoraries.put("java.lang.ArrayStoreException", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.ArrayStoreException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.AssertionError
-        honoraries.put("java.lang.AssertionError", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.AssertionError", IMMUTABLE | POWERLESS);
         constructors.add("java.lang.AssertionError(double)");
         constructors.add("java.lang.AssertionError()");
         constructors.add("java.lang.AssertionError(boolean)");
@@ -73,7 +88,7 @@ public class Policy {
         constructors.add("java.lang.AssertionError(float)");
 
         // Type java.lang.Boolean
-        honoraries.put("java.lang.Boolean", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable", "org.joe_e.Selfless"});
+        honoraries.put("java.lang.Boolean", IMMUTABLE | POWERLESS | SELFLESS);
         fields.add("java.lang.Boolean.TRUE");
         fields.add("java.lang.Boolean.TYPE");
         fields.add("java.lang.Boolean.FALSE");
@@ -90,7 +105,7 @@ public class Policy {
         methods.add("java.lang.Boolean.toString(boolean)");
 
         // Type java.lang.Byte
-        honoraries.put("java.lang.Byte", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable", "org.joe_e.Selfless"});
+        honoraries.put("java.lang.Byte", IMMUTABLE | POWERLESS | SELFLESS);
         fields.add("java.lang.Byte.SIZE");
         fields.add("java.lang.Byte.MIN_VALUE");
         fields.add("java.lang.Byte.MAX_VALUE");
@@ -118,7 +133,7 @@ public class Policy {
         // Type java.lang.CharSequence
 
         // Type java.lang.Character
-        honoraries.put("java.lang.Character", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable", "org.joe_e.Selfless"});
+        honoraries.put("java.lang.Character", IMMUTABLE | POWERLESS | SELFLESS);
         fields.add("java.lang.Character.END_PUNCTUATION");
         fields.add("java.lang.Character.PRIVATE_USE");
         fields.add("java.lang.Character.DIRECTIONALITY_RIGHT_TO_LEFT_EMBEDDING");
@@ -267,7 +282,7 @@ public class Policy {
         // Type java.lang.Character$UnicodeBlock
 
         // Type java.lang.Class
-        honoraries.put("java.lang.Class", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable", "org.joe_e.Equatable"});
+        honoraries.put("java.lang.Class", IMMUTABLE | POWERLESS | EQUATABLE);
         methods.add("java.lang.Class.isAnnotation()");
         methods.add("java.lang.Class.getEnclosingClass()");
         methods.add("java.lang.Class.isSynthetic()");
@@ -293,20 +308,20 @@ public class Policy {
         methods.add("java.lang.Class.getGenericSuperclass()");
 
         // Type java.lang.ClassCastException
-        honoraries.put("java.lang.ClassCastException", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.ClassCastException", IMMUTABLE | POWERLESS);
         constructors.add("java.lang.ClassCastException(String)");
         constructors.add("java.lang.ClassCastException()");
 
         // Type java.lang.ClassCircularityError
-        honoraries.put("java.lang.ClassCircularityError", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.ClassCircularityError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.ClassFormatError
-        honoraries.put("java.lang.ClassFormatError", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.ClassFormatError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.ClassLoader
 
         // Type java.lang.ClassNotFoundException
-        honoraries.put("java.lang.ClassNotFoundException", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.ClassNotFoundException", IMMUTABLE | POWERLESS);
         constructors.add("java.lang.ClassNotFoundException()");
         constructors.add("java.lang.ClassNotFoundException(String, Throwable)");
         constructors.add("java.lang.ClassNotFoundException(String)");
@@ -314,7 +329,7 @@ public class Policy {
         methods.add("java.lang.ClassNotFoundException.getException()");
 
         // Type java.lang.CloneNotSupportedException
-        honoraries.put("java.lang.CloneNotSupportedException", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.CloneNotSupportedException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.Cloneable
 
@@ -325,7 +340,7 @@ public class Policy {
         // Type java.lang.Deprecated
 
         // Type java.lang.Double
-        honoraries.put("java.lang.Double", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable", "org.joe_e.Selfless"});
+        honoraries.put("java.lang.Double", IMMUTABLE | POWERLESS | SELFLESS);
         fields.add("java.lang.Double.NaN");
         fields.add("java.lang.Double.SIZE");
         fields.add("java.lang.Double.MAX_VALUE");
@@ -360,7 +375,7 @@ public class Policy {
         methods.add("java.lang.Double.intValue()");
 
         // Type java.lang.Enum
-        honoraries.put("java.lang.Enum", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable", "org.joe_e.Equatable"});
+        honoraries.put("java.lang.Enum", IMMUTABLE | POWERLESS | EQUATABLE);
         methods.add("java.lang.Enum.equals(Object)");
         methods.add("java.lang.Enum.clone()");
         methods.add("java.lang.Enum.getDeclaringClass()");
@@ -368,24 +383,24 @@ public class Policy {
         methods.add("java.lang.Enum.compareTo(E)");
 
         // Type java.lang.EnumConstantNotPresentException
-        honoraries.put("java.lang.EnumConstantNotPresentException", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.EnumConstantNotPresentException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.Error
-        honoraries.put("java.lang.Error", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.Error", IMMUTABLE | POWERLESS);
         constructors.add("java.lang.Error()");
         constructors.add("java.lang.Error(String, Throwable)");
         constructors.add("java.lang.Error(String)");
         constructors.add("java.lang.Error(Throwable)");
 
         // Type java.lang.Exception
-        honoraries.put("java.lang.Exception", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.Exception", IMMUTABLE | POWERLESS);
         constructors.add("java.lang.Exception(String)");
         constructors.add("java.lang.Exception(Throwable)");
         constructors.add("java.lang.Exception()");
         constructors.add("java.lang.Exception(String, Throwable)");
 
         // Type java.lang.ExceptionInInitializerError
-        honoraries.put("java.lang.ExceptionInInitializerError", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.ExceptionInInitializerError", IMMUTABLE | POWERLESS);
         constructors.add("java.lang.ExceptionInInitializerError(Throwable)");
         constructors.add("java.lang.ExceptionInInitializerError(String)");
         constructors.add("java.lang.ExceptionInInitializerError()");
@@ -393,7 +408,7 @@ public class Policy {
         methods.add("java.lang.ExceptionInInitializerError.getException()");
 
         // Type java.lang.Float
-        honoraries.put("java.lang.Float", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable", "org.joe_e.Selfless"});
+        honoraries.put("java.lang.Float", IMMUTABLE | POWERLESS | SELFLESS);
         fields.add("java.lang.Float.SIZE");
         fields.add("java.lang.Float.MIN_VALUE");
         fields.add("java.lang.Float.NEGATIVE_INFINITY");
@@ -429,43 +444,43 @@ public class Policy {
         methods.add("java.lang.Float.hashCode()");
 
         // Type java.lang.IllegalAccessError
-        honoraries.put("java.lang.IllegalAccessError", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.IllegalAccessError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.IllegalAccessException
-        honoraries.put("java.lang.IllegalAccessException", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.IllegalAccessException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.IllegalArgumentException
-        honoraries.put("java.lang.IllegalArgumentException", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.IllegalArgumentException", IMMUTABLE | POWERLESS);
         constructors.add("java.lang.IllegalArgumentException(Throwable)");
         constructors.add("java.lang.IllegalArgumentException(String, Throwable)");
         constructors.add("java.lang.IllegalArgumentException(String)");
         constructors.add("java.lang.IllegalArgumentException()");
 
         // Type java.lang.IllegalMonitorStateException
-        honoraries.put("java.lang.IllegalMonitorStateException", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.IllegalMonitorStateException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.IllegalStateException
-        honoraries.put("java.lang.IllegalStateException", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.IllegalStateException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.IllegalThreadStateException
-        honoraries.put("java.lang.IllegalThreadStateException", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.IllegalThreadStateException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.IncompatibleClassChangeError
-        honoraries.put("java.lang.IncompatibleClassChangeError", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.IncompatibleClassChangeError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.IndexOutOfBoundsException
-        honoraries.put("java.lang.IndexOutOfBoundsException", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.IndexOutOfBoundsException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.InheritableThreadLocal
 
         // Type java.lang.InstantiationError
-        honoraries.put("java.lang.InstantiationError", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.InstantiationError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.InstantiationException
-        honoraries.put("java.lang.InstantiationException", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.InstantiationException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.Integer
-        honoraries.put("java.lang.Integer", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable", "org.joe_e.Selfless"});
+        honoraries.put("java.lang.Integer", IMMUTABLE | POWERLESS | SELFLESS);
         fields.add("java.lang.Integer.SIZE");
         fields.add("java.lang.Integer.MAX_VALUE");
         fields.add("java.lang.Integer.MIN_VALUE");
@@ -505,18 +520,18 @@ public class Policy {
         methods.add("java.lang.Integer.signum(int)");
 
         // Type java.lang.InternalError
-        honoraries.put("java.lang.InternalError", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.InternalError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.InterruptedException
-        honoraries.put("java.lang.InterruptedException", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.InterruptedException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.Iterable
 
         // Type java.lang.LinkageError
-        honoraries.put("java.lang.LinkageError", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.LinkageError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.Long
-        honoraries.put("java.lang.Long", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable", "org.joe_e.Selfless"});
+        honoraries.put("java.lang.Long", IMMUTABLE | POWERLESS | SELFLESS);
         fields.add("java.lang.Long.SIZE");
         fields.add("java.lang.Long.TYPE");
         fields.add("java.lang.Long.MIN_VALUE");
@@ -558,30 +573,30 @@ public class Policy {
         // Type java.lang.Math
 
         // Type java.lang.NegativeArraySizeException
-        honoraries.put("java.lang.NegativeArraySizeException", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.NegativeArraySizeException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.NoClassDefFoundError
-        honoraries.put("java.lang.NoClassDefFoundError", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.NoClassDefFoundError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.NoSuchFieldError
-        honoraries.put("java.lang.NoSuchFieldError", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.NoSuchFieldError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.NoSuchFieldException
-        honoraries.put("java.lang.NoSuchFieldException", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.NoSuchFieldException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.NoSuchMethodError
-        honoraries.put("java.lang.NoSuchMethodError", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.NoSuchMethodError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.NoSuchMethodException
-        honoraries.put("java.lang.NoSuchMethodException", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.NoSuchMethodException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.NullPointerException
-        honoraries.put("java.lang.NullPointerException", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.NullPointerException", IMMUTABLE | POWERLESS);
         constructors.add("java.lang.NullPointerException()");
         constructors.add("java.lang.NullPointerException(String)");
 
         // Type java.lang.Number
-        honoraries.put("java.lang.Number", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable", "org.joe_e.Selfless"});
+        honoraries.put("java.lang.Number", IMMUTABLE | POWERLESS | SELFLESS);
         methods.add("java.lang.Number.floatValue()");
         methods.add("java.lang.Number.byteValue()");
         methods.add("java.lang.Number.longValue()");
@@ -590,7 +605,7 @@ public class Policy {
         methods.add("java.lang.Number.intValue()");
 
         // Type java.lang.NumberFormatException
-        honoraries.put("java.lang.NumberFormatException", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.NumberFormatException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.Object
         constructors.add("java.lang.Object()");
@@ -599,7 +614,7 @@ public class Policy {
         methods.add("java.lang.Object.getClass()");
 
         // Type java.lang.OutOfMemoryError
-        honoraries.put("java.lang.OutOfMemoryError", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.OutOfMemoryError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.Override
 
@@ -616,7 +631,7 @@ public class Policy {
         // Type java.lang.Runtime
 
         // Type java.lang.RuntimeException
-        honoraries.put("java.lang.RuntimeException", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.RuntimeException", IMMUTABLE | POWERLESS);
         constructors.add("java.lang.RuntimeException(Throwable)");
         constructors.add("java.lang.RuntimeException()");
         constructors.add("java.lang.RuntimeException(String, Throwable)");
@@ -625,12 +640,12 @@ public class Policy {
         // Type java.lang.RuntimePermission
 
         // Type java.lang.SecurityException
-        honoraries.put("java.lang.SecurityException", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.SecurityException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.SecurityManager
 
         // Type java.lang.Short
-        honoraries.put("java.lang.Short", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable", "org.joe_e.Selfless"});
+        honoraries.put("java.lang.Short", IMMUTABLE | POWERLESS | SELFLESS);
         fields.add("java.lang.Short.SIZE");
         fields.add("java.lang.Short.TYPE");
         fields.add("java.lang.Short.MIN_VALUE");
@@ -657,7 +672,7 @@ public class Policy {
         methods.add("java.lang.Short.compareTo(Short)");
 
         // Type java.lang.StackOverflowError
-        honoraries.put("java.lang.StackOverflowError", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.StackOverflowError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.StackTraceElement
         methods.add("java.lang.StackTraceElement.equals(Object)");
@@ -665,7 +680,7 @@ public class Policy {
         // Type java.lang.StrictMath
 
         // Type java.lang.String
-        honoraries.put("java.lang.String", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable", "org.joe_e.Selfless"});
+        honoraries.put("java.lang.String", IMMUTABLE | POWERLESS | SELFLESS);
         fields.add("java.lang.String.CASE_INSENSITIVE_ORDER");
         constructors.add("java.lang.String(char[], int, int)");
         constructors.add("java.lang.String(char[])");
@@ -730,7 +745,7 @@ public class Policy {
         // Type java.lang.StringBuilder
 
         // Type java.lang.StringIndexOutOfBoundsException
-        honoraries.put("java.lang.StringIndexOutOfBoundsException", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.StringIndexOutOfBoundsException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.SuppressWarnings
 
@@ -740,19 +755,19 @@ public class Policy {
         // Type java.lang.Thread
 
         // Type java.lang.Thread$State
-        honoraries.put("java.lang.Thread$State", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable", "org.joe_e.Equatable"});
+        honoraries.put("java.lang.Thread$State", IMMUTABLE | POWERLESS | EQUATABLE);
 
         // Type java.lang.Thread$UncaughtExceptionHandler
 
         // Type java.lang.ThreadDeath
-        honoraries.put("java.lang.ThreadDeath", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.ThreadDeath", IMMUTABLE | POWERLESS);
 
         // Type java.lang.ThreadGroup
 
         // Type java.lang.ThreadLocal
 
         // Type java.lang.Throwable
-        honoraries.put("java.lang.Throwable", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.Throwable", IMMUTABLE | POWERLESS);
         constructors.add("java.lang.Throwable(String)");
         constructors.add("java.lang.Throwable(String, Throwable)");
         constructors.add("java.lang.Throwable(Throwable)");
@@ -760,29 +775,29 @@ public class Policy {
         methods.add("java.lang.Throwable.getCause()");
 
         // Type java.lang.TypeNotPresentException
-        honoraries.put("java.lang.TypeNotPresentException", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.TypeNotPresentException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.UnknownError
-        honoraries.put("java.lang.UnknownError", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.UnknownError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.UnsatisfiedLinkError
-        honoraries.put("java.lang.UnsatisfiedLinkError", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.UnsatisfiedLinkError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.UnsupportedClassVersionError
-        honoraries.put("java.lang.UnsupportedClassVersionError", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.UnsupportedClassVersionError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.UnsupportedOperationException
-        honoraries.put("java.lang.UnsupportedOperationException", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.UnsupportedOperationException", IMMUTABLE | POWERLESS);
         constructors.add("java.lang.UnsupportedOperationException(String)");
         constructors.add("java.lang.UnsupportedOperationException(String, Throwable)");
         constructors.add("java.lang.UnsupportedOperationException()");
         constructors.add("java.lang.UnsupportedOperationException(Throwable)");
 
         // Type java.lang.VerifyError
-        honoraries.put("java.lang.VerifyError", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.VerifyError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.VirtualMachineError
-        honoraries.put("java.lang.VirtualMachineError", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.VirtualMachineError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.Void
 
@@ -793,7 +808,7 @@ public class Policy {
         // Type java.lang.annotation.Documented
 
         // Type java.lang.annotation.ElementType
-        honoraries.put("java.lang.annotation.ElementType", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable", "org.joe_e.Equatable"});
+        honoraries.put("java.lang.annotation.ElementType", IMMUTABLE | POWERLESS | EQUATABLE);
         fields.add("java.lang.annotation.ElementType.CONSTRUCTOR");
         fields.add("java.lang.annotation.ElementType.TYPE");
         fields.add("java.lang.annotation.ElementType.PACKAGE");
@@ -810,7 +825,7 @@ public class Policy {
         // Type java.lang.annotation.Retention
 
         // Type java.lang.annotation.RetentionPolicy
-        honoraries.put("java.lang.annotation.RetentionPolicy", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable", "org.joe_e.Equatable"});
+        honoraries.put("java.lang.annotation.RetentionPolicy", IMMUTABLE | POWERLESS | EQUATABLE);
         fields.add("java.lang.annotation.RetentionPolicy.CLASS");
         fields.add("java.lang.annotation.RetentionPolicy.SOURCE");
         fields.add("java.lang.annotation.RetentionPolicy.RUNTIME");
@@ -826,7 +841,7 @@ public class Policy {
         // Type java.lang.reflect.Array
 
         // Type java.lang.reflect.Constructor
-        honoraries.put("java.lang.reflect.Constructor", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable", "org.joe_e.Selfless"});
+        honoraries.put("java.lang.reflect.Constructor", IMMUTABLE | POWERLESS | SELFLESS);
         methods.add("java.lang.reflect.Constructor.getDeclaringClass()");
         methods.add("java.lang.reflect.Constructor.getTypeParameters()");
         methods.add("java.lang.reflect.Constructor.getGenericParameterTypes()");
@@ -840,7 +855,7 @@ public class Policy {
         methods.add("java.lang.reflect.Constructor.equals(Object)");
 
         // Type java.lang.reflect.Field
-        honoraries.put("java.lang.reflect.Field", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable", "org.joe_e.Selfless"});
+        honoraries.put("java.lang.reflect.Field", IMMUTABLE | POWERLESS | SELFLESS);
         methods.add("java.lang.reflect.Field.equals(Object)");
 
         // Type java.lang.reflect.GenericArrayType
@@ -849,12 +864,12 @@ public class Policy {
         methods.add("java.lang.reflect.GenericDeclaration.getTypeParameters()");
 
         // Type java.lang.reflect.GenericSignatureFormatError
-        honoraries.put("java.lang.reflect.GenericSignatureFormatError", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.reflect.GenericSignatureFormatError", IMMUTABLE | POWERLESS);
 
         // Type java.lang.reflect.InvocationHandler
 
         // Type java.lang.reflect.InvocationTargetException
-        honoraries.put("java.lang.reflect.InvocationTargetException", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.reflect.InvocationTargetException", IMMUTABLE | POWERLESS);
         constructors.add("java.lang.reflect.InvocationTargetException(Throwable)");
         constructors.add("java.lang.reflect.InvocationTargetException(Throwable, String)");
         constructors.add("java.lang.reflect.InvocationTargetException()");
@@ -862,12 +877,12 @@ public class Policy {
         methods.add("java.lang.reflect.InvocationTargetException.getTargetException()");
 
         // Type java.lang.reflect.MalformedParameterizedTypeException
-        honoraries.put("java.lang.reflect.MalformedParameterizedTypeException", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.reflect.MalformedParameterizedTypeException", IMMUTABLE | POWERLESS);
 
         // Type java.lang.reflect.Member
 
         // Type java.lang.reflect.Method
-        honoraries.put("java.lang.reflect.Method", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable", "org.joe_e.Selfless"});
+        honoraries.put("java.lang.reflect.Method", IMMUTABLE | POWERLESS | SELFLESS);
         methods.add("java.lang.reflect.Method.hashCode()");
         methods.add("java.lang.reflect.Method.getTypeParameters()");
         methods.add("java.lang.reflect.Method.getModifiers()");
@@ -887,7 +902,7 @@ public class Policy {
         // Type java.lang.reflect.Modifier
 
         // Type java.lang.reflect.ParameterizedType
-        honoraries.put("java.lang.reflect.ParameterizedType", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.reflect.ParameterizedType", IMMUTABLE | POWERLESS);
         methods.add("java.lang.reflect.ParameterizedType.getRawType()");
         methods.add("java.lang.reflect.ParameterizedType.getActualTypeArguments()");
         methods.add("java.lang.reflect.ParameterizedType.getOwnerType()");
@@ -899,23 +914,23 @@ public class Policy {
         // Type java.lang.reflect.Type
 
         // Type java.lang.reflect.TypeVariable
-        honoraries.put("java.lang.reflect.TypeVariable", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable", "org.joe_e.Selfless"});
+        honoraries.put("java.lang.reflect.TypeVariable", IMMUTABLE | POWERLESS | SELFLESS);
         methods.add("java.lang.reflect.TypeVariable.getGenericDeclaration()");
         methods.add("java.lang.reflect.TypeVariable.getName()");
 
         // Type java.lang.reflect.UndeclaredThrowableException
-        honoraries.put("java.lang.reflect.UndeclaredThrowableException", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.reflect.UndeclaredThrowableException", IMMUTABLE | POWERLESS);
         constructors.add("java.lang.reflect.UndeclaredThrowableException(Throwable, String)");
         constructors.add("java.lang.reflect.UndeclaredThrowableException(Throwable)");
         methods.add("java.lang.reflect.UndeclaredThrowableException.getCause()");
         methods.add("java.lang.reflect.UndeclaredThrowableException.getUndeclaredThrowable()");
 
         // Type java.lang.reflect.WildcardType
-        honoraries.put("java.lang.reflect.WildcardType", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.lang.reflect.WildcardType", IMMUTABLE | POWERLESS);
         methods.add("java.lang.reflect.WildcardType.getUpperBounds()");
 
         // Type java.math.BigDecimal
-        honoraries.put("java.math.BigDecimal", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable", "org.joe_e.Selfless"});
+        honoraries.put("java.math.BigDecimal", IMMUTABLE | POWERLESS | SELFLESS);
         fields.add("java.math.BigDecimal.TEN");
         fields.add("java.math.BigDecimal.ROUND_HALF_UP");
         fields.add("java.math.BigDecimal.ROUND_UP");
@@ -1005,7 +1020,7 @@ public class Policy {
         methods.add("java.math.BigDecimal.multiply(BigDecimal)");
 
         // Type java.math.BigInteger
-        honoraries.put("java.math.BigInteger", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable", "org.joe_e.Selfless"});
+        honoraries.put("java.math.BigInteger", IMMUTABLE | POWERLESS | SELFLESS);
         fields.add("java.math.BigInteger.ONE");
         fields.add("java.math.BigInteger.TEN");
         fields.add("java.math.BigInteger.ZERO");
@@ -1059,7 +1074,7 @@ public class Policy {
         methods.add("java.math.BigInteger.abs()");
 
         // Type java.math.MathContext
-        honoraries.put("java.math.MathContext", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable", "org.joe_e.Selfless"});
+        honoraries.put("java.math.MathContext", IMMUTABLE | POWERLESS | SELFLESS);
         fields.add("java.math.MathContext.DECIMAL32");
         fields.add("java.math.MathContext.DECIMAL128");
         fields.add("java.math.MathContext.DECIMAL64");
@@ -1074,7 +1089,7 @@ public class Policy {
         methods.add("java.math.MathContext.getRoundingMode()");
 
         // Type java.math.RoundingMode
-        honoraries.put("java.math.RoundingMode", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable", "org.joe_e.Equatable"});
+        honoraries.put("java.math.RoundingMode", IMMUTABLE | POWERLESS | EQUATABLE);
         fields.add("java.math.RoundingMode.UNNECESSARY");
         fields.add("java.math.RoundingMode.DOWN");
         fields.add("java.math.RoundingMode.CEILING");
@@ -1092,7 +1107,7 @@ public class Policy {
         methods.add("java.util.Iterator.next()");
 
         // Type java.util.NoSuchElementException
-        honoraries.put("java.util.NoSuchElementException", new String[]{"org.joe_e.Powerless", "org.joe_e.Immutable"});
+        honoraries.put("java.util.NoSuchElementException", IMMUTABLE | POWERLESS);
         constructors.add("java.util.NoSuchElementException(String)");
         constructors.add("java.util.NoSuchElementException()");
 
@@ -5,11 +5,31 @@
  */
 package org.joe_e.eclipse;
 
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.jdt.core.*;
 import org.eclipse.jdt.core.dom.ITypeBinding;
 
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 
+/**
+ * Dependencies and tags recorded by the verifier.  The methods that update
+ * the state are synchronized, so that compilation units may be verified
+ * concurrently during a full build.
+ */
 class BuildState {
     static final int IMPL_SELFLESS =   0x0001;
     static final int IMPL_IMMUTABLE =  0x0002;
@@ -42,6 +62,7 @@ class BuildState {
     final IJavaProject ijp;
     final Map<IType, ITypeState> typeStates;
     final Map<ICompilationUnit, ICUState> icuStates;
+    private String environment;     // null until recorded; then not saved
     
 	BuildState(IJavaProject ijp) {
 		this.ijp = ijp;
@@ -54,7 +75,7 @@ class BuildState {
 	 * ICUState to the unit.  Called before calculating a new set of dependencies
 	 * for a new build.
 	 */
-	void prebuild(ICompilationUnit toRebuild) {
+	synchronized void prebuild(ICompilationUnit toRebuild) {
 		ICUState oldState = icuStates.get(toRebuild);
 		if (oldState != null) {
 			Set<IType> typesReferenced = oldState.references;
@@ -97,7 +118,8 @@ class BuildState {
     }
     */
     
-    void addFlagDependency(ICompilationUnit current, ITypeBinding dependedOn) {
+    synchronized void addFlagDependency(ICompilationUnit current, 
+                                        ITypeBinding dependedOn) {
         if (dependedOn.isFromSource() && !dependedOn.isTypeVariable()) {
             IType type = (IType) dependedOn.getJavaElement();
             if (!type.getJavaProject().equals(ijp)) {
@@ -126,7 +148,8 @@ class BuildState {
 	 * @param current the compilation unit to which to add the dependency
 	 * @param dependedOn the class depended on to have some property
 	 */
-	void addDeepDependency(ICompilationUnit current, ITypeBinding dependedOn) {
+	synchronized void addDeepDependency(ICompilationUnit current, 
+	                                    ITypeBinding dependedOn) {
 		if (dependedOn.isFromSource() && !dependedOn.isTypeVariable()) {
             IType type = (IType) dependedOn.getJavaElement();
 			ITypeState dependedState = typeStates.get(type);
@@ -152,9 +175,11 @@ class BuildState {
      *              its new version
      * @return
      *              the set of compilation units that must be rebuilt in
-     *              response to the new tags
+     *              response to the new tags; a copy, as the dependents may
+     *              change while another unit is being verified
      */
-	Collection<ICompilationUnit> updateTags(IType type, int newTags) {
+	synchronized Collection<ICompilationUnit> updateTags(IType type, 
+	                                                     int newTags) {
 		ITypeState typeState = typeStates.get(type);
         
 		// if state node doesn't already exist, create a new one with flags
@@ -169,13 +194,413 @@ class BuildState {
 
 		if (oldTags < 0 || newTags == oldTags) { // Flags unchanged
 			// Only rebuild deep dependents
-			return typeState.deepDependents;
+			return new ArrayList<ICompilationUnit>(typeState.deepDependents);
 		} else { 
-			return typeState.allDependents;
+			return new ArrayList<ICompilationUnit>(typeState.allDependents);
 		}	
 	}
 	
 	
+    /**
+     * Record the outcome of checking a compilation unit, so that it is kept
+     * with the rest of the build state when saved.
+     * 
+     * @param icu
+     *              the compilation unit that has just been checked
+     * @param hash
+     *              hash of the contents that were checked, or null if the
+     *              unit must be checked again when the state is restored
+     * @param problems
+     *              the problems found in the unit
+     */
+    synchronized void recordResult(ICompilationUnit icu, String hash,
+                                   List<Problem> problems) {
+        ICUState icuState = icuStates.get(icu);
+        if (icuState == null) {
+            icuState = new ICUState();
+            icuStates.put(icu, icuState);
+        }
+        icuState.hash = hash;
+        icuState.problems = problems;
+    }
+    
+    /*
+     * Saved build state format.  A header line, then the taming database
+     * path with a hash of its files, then a hash of the project's resolved
+     * classpath, then one group of lines for each compilation unit and for
+     * each type.  Compilation units are named by their project-relative path and
+     * types by their fully qualified name, so that a saved state can be
+     * restored to a project in another session, or to a copy of the project.
+     *
+     *   taming <hash> <path>
+     *   classpath <hash>
+     *   unit <hash or -> <path>
+     *   ref <type>
+     *   problem <severity> <start> <length> <message>
+     *   type <tags> <type>
+     *   deep <path>
+     *   flag <path>
+     */
+    private static final String HEADER = "Joe-E build state 2";
+    
+    /**
+     * Record the taming database and classpath that the state is about to be
+     * computed with, to be saved with it.  Should be called when the taming
+     * database is loaded: if either changes later in the session, the saved
+     * state will then not match them, and will not be used.
+     * 
+     * @param tamingPath
+     *              the taming database the state is computed with
+     * @throws IOException
+     *              if the taming database or classpath could not be read;
+     *              the state cannot then be saved
+     */
+    synchronized void recordEnvironment(String tamingPath) throws IOException {
+        environment = null;
+        environment = environment(ijp, tamingPath);
+    }
+    
+    /**
+     * Save the build state to a file, along with the taming database and
+     * classpath recorded by {@link #recordEnvironment}.  The state is written
+     * to a temporary file first, which then replaces the named file.
+     * 
+     * @param file
+     *              the file to save the state in
+     * @throws IOException
+     *              if the state could not be written, or no environment was
+     *              recorded
+     */
+    synchronized void save(java.io.File file) throws IOException {
+        if (environment == null) {
+            throw new IOException("build state has no recorded environment");
+        }
+        java.io.File temp = new java.io.File(file.getPath() + ".tmp");
+        PrintWriter out = new PrintWriter(new OutputStreamWriter(
+                              new FileOutputStream(temp), "UTF-8"));
+        try {
+            out.println(HEADER);
+            out.println(environment);
+            for (Map.Entry<ICompilationUnit, ICUState> e 
+                    : icuStates.entrySet()) {
+                ICUState icuState = e.getValue();
+                out.println("unit " + 
+                            (icuState.hash == null ? "-" : icuState.hash) + 
+                            " " + pathOf(e.getKey()));
+                for (IType type : icuState.references) {
+                    out.println("ref " + type.getFullyQualifiedName('.'));
+                }
+                for (Problem problem : icuState.problems) {
+                    out.println("problem " + problem.getSeverity() + " " 
+                                + problem.getStart() + " " 
+                                + (problem.getEnd() - problem.getStart()) 
+                                + " " + escape(problem.getMessage()));
+                }
+            }
+            for (Map.Entry<IType, ITypeState> e : typeStates.entrySet()) {
+                ITypeState typeState = e.getValue();
+                out.println("type " + typeState.tags + " " 
+                            + e.getKey().getFullyQualifiedName('.'));
+                for (ICompilationUnit icu : typeState.allDependents) {
+                    out.println((typeState.deepDependents.contains(icu) 
+                                 ? "deep " : "flag ") + pathOf(icu));
+                }
+            }
+        } finally {
+            out.close();
+        }
+        if (out.checkError()) {
+            temp.delete();
+            throw new IOException("could not write " + temp);
+        }
+        if (!temp.renameTo(file)) {
+            file.delete();
+            if (!temp.renameTo(file)) {
+                temp.delete();
+                throw new IOException("could not replace " + file);
+            }
+        }
+    }
+    
+    /**
+     * Load a build state saved by {@link #save}.  The state is refused if
+     * the files of the taming database, or the project's resolved classpath,
+     * have changed since it was saved.  Compilation units that no
+     * longer exist are dropped.  A unit whose dependencies can no longer all
+     * be found, or that depends on a type that can no longer be found, is
+     * restored without a hash, so that it will be checked again.
+     * 
+     * @param ijp
+     *              the project to restore the state for
+     * @param file
+     *              the file the state was saved in
+     * @param tamingPath
+     *              the taming database now in use
+     * @return the restored build state
+     * @throws IOException
+     *              if the file could not be read, is not a saved build
+     *              state, or was computed with a different taming database
+     *              or classpath
+     */
+    static BuildState load(IJavaProject ijp, java.io.File file, 
+                           String tamingPath) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(
+                                new FileInputStream(file), "UTF-8"));
+        try {
+            if (!HEADER.equals(in.readLine())) {
+                throw new IOException(file + " is not a saved build state");
+            }
+            String environment = environment(ijp, tamingPath);
+            if (!environment.equals(in.readLine() + "\n" + in.readLine())) {
+                throw new IOException(file + " was saved with a different " +
+                                      "taming database or classpath");
+            }
+            
+            BuildState state = new BuildState(ijp);
+            state.environment = environment;
+            IProject project = ijp.getProject();
+            // units depending on types that no longer exist
+            Set<ICompilationUnit> invalid = new HashSet<ICompilationUnit>();
+            ICUState icuState = null;      // null if unit no longer exists
+            ITypeState typeState = null;   // null if type no longer exists
+            for (String line = in.readLine(); line != null; 
+                 line = in.readLine()) {
+                int space = line.indexOf(' ');
+                String kind = line.substring(0, space);
+                String rest = line.substring(space + 1);
+                if (kind.equals("unit")) {
+                    space = rest.indexOf(' ');
+                    String hash = rest.substring(0, space);
+                    ICompilationUnit icu = 
+                        unitAt(project, rest.substring(space + 1));
+                    if (icu == null) {
+                        icuState = null;
+                    } else {
+                        icuState = new ICUState();
+                        icuState.hash = hash.equals("-") ? null : hash;
+                        state.icuStates.put(icu, icuState);
+                    }
+                } else if (kind.equals("ref")) {
+                    if (icuState != null) {
+                        IType type = ijp.findType(rest);
+                        if (type == null) {
+                            icuState.hash = null;
+                        } else {
+                            icuState.references.add(type);
+                        }
+                    }
+                } else if (kind.equals("problem")) {
+                    String[] fields = rest.split(" ", 4);
+                    if (icuState != null) {
+                        icuState.problems.add(
+                            new Problem(unescape(fields[3]), 
+                                        Integer.parseInt(fields[0]),
+                                        Integer.parseInt(fields[1]),
+                                        Integer.parseInt(fields[2])));
+                    }
+                } else if (kind.equals("type")) {
+                    space = rest.indexOf(' ');
+                    IType type = ijp.findType(rest.substring(space + 1));
+                    if (type == null) {
+                        typeState = null;
+                    } else {
+                        typeState = new ITypeState();
+                        typeState.tags = 
+                            Integer.parseInt(rest.substring(0, space));
+                        state.typeStates.put(type, typeState);
+                    }
+                } else if (kind.equals("deep") || kind.equals("flag")) {
+                    ICompilationUnit icu = unitAt(project, rest);
+                    if (icu == null) {
+                        // dependent no longer exists
+                    } else if (typeState == null) {
+                        invalid.add(icu);
+                    } else if (kind.equals("deep")) {
+                        typeState.addDeepDependent(icu);
+                    } else {
+                        typeState.addFlagDependent(icu);
+                    }
+                } else {
+                    throw new IOException(file + " is not a saved build state");
+                }
+            }
+            
+            for (ICompilationUnit icu : invalid) {
+                ICUState dependentState = state.icuStates.get(icu);
+                if (dependentState != null) {
+                    dependentState.hash = null;
+                }
+            }
+            return state;
+        } catch (JavaModelException jme) {
+            throw new IOException(jme.toString());
+        } catch (RuntimeException re) {
+            // malformed line
+            throw new IOException(file + " is not a saved build state");
+        } finally {
+            in.close();
+        }
+    }
+    
+    /**
+     * Describe what a build state depends on besides the project's own
+     * source: the taming database, by its path and a hash of its files, and
+     * the project's resolved classpath, by a hash of its entries.  Libraries
+     * and the output of required projects are hashed by the size and
+     * modification time of their files rather than their contents, which
+     * would take longer to read than the state saves.
+     * 
+     * @return the two header lines following {@link #HEADER}
+     */
+    private static String environment(IJavaProject ijp, String tamingPath) 
+        throws IOException {
+        MessageDigest taming = newDigest();
+        hashTree(taming, new java.io.File(tamingPath), "", true);
+        
+        MessageDigest classpath = newDigest();
+        IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+        try {
+            for (IClasspathEntry entry : ijp.getResolvedClasspath(true)) {
+                IPath path = entry.getPath();
+                classpath.update((entry.getEntryKind() + " " + path + "\n")
+                                 .getBytes("UTF-8"));
+                IPath location = null;
+                if (entry.getEntryKind() == IClasspathEntry.CPE_LIBRARY) {
+                    IResource resource = root.findMember(path);
+                    location = 
+                        (resource == null) ? path : resource.getLocation();
+                } else if (entry.getEntryKind() 
+                           == IClasspathEntry.CPE_PROJECT) {
+                    IJavaProject required = 
+                        JavaCore.create(root.getProject(path.lastSegment()));
+                    if (required.exists()) {
+                        // the output may be the project itself, not a folder
+                        IResource output = 
+                            root.findMember(required.getOutputLocation());
+                        if (output != null) {
+                            location = output.getLocation();
+                        }
+                    }
+                }
+                if (location != null) {
+                    hashTree(classpath, location.toFile(), "", false);
+                }
+            }
+        } catch (JavaModelException jme) {
+            throw new IOException(jme.toString());
+        }
+        
+        return "taming " + hex(taming) + " " + tamingPath + "\n"
+               + "classpath " + hex(classpath);
+    }
+    
+    /**
+     * Add a file, or every file under a directory, to a hash: each file's
+     * path relative to where the walk started, and either its contents or
+     * its size and modification time.  Directories are walked in name order
+     * so that the hash does not depend on the order they are listed in.
+     */
+    private static void hashTree(MessageDigest digest, java.io.File file, 
+                                 String name, boolean contents)
+        throws IOException {
+        if (file.isDirectory()) {
+            String[] children = file.list();
+            if (children == null) {
+                throw new IOException("could not list " + file);
+            }
+            Arrays.sort(children);
+            for (String child : children) {
+                hashTree(digest, new java.io.File(file, child), 
+                         name + "/" + child, contents);
+            }
+        } else if (file.isFile()) {
+            digest.update((name + "\n").getBytes("UTF-8"));
+            if (contents) {
+                FileInputStream in = new FileInputStream(file);
+                try {
+                    byte[] buffer = new byte[8192];
+                    for (int n = in.read(buffer); n >= 0; n = in.read(buffer)) {
+                        digest.update(buffer, 0, n);
+                    }
+                } finally {
+                    in.close();
+                }
+            } else {
+                digest.update((file.length() + " " + file.lastModified() 
+                               + "\n").getBytes("UTF-8"));
+            }
+        }
+    }
+    
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException nsae) {
+            throw new RuntimeException(nsae); // required of every platform
+        }
+    }
+    
+    /**
+     * @return the hash computed by a digest, in hexadecimal
+     */
+    private static String hex(MessageDigest digest) {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16));
+            hex.append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+    
+    /**
+     * @return the project-relative path of a compilation unit
+     */
+    private static String pathOf(ICompilationUnit icu) {
+        return icu.getResource().getProjectRelativePath().toString();
+    }
+    
+    /**
+     * @return the existing compilation unit at a project-relative path, or 
+     *          null if there is none
+     */
+    private static ICompilationUnit unitAt(IProject project, String path) {
+        IFile file = project.getFile(path);
+        if (!file.exists()) {
+            return null;
+        }
+        IJavaElement element = JavaCore.create(file);
+        if (element instanceof ICompilationUnit && element.exists()) {
+            return (ICompilationUnit) element;
+        } else {
+            return null;
+        }
+    }
+    
+    /**
+     * Escape a problem message so that it fits on one line.
+     */
+    private static String escape(String message) {
+        return message.replace("\\", "\\\\").replace("\n", "\\n")
+                      .replace("\r", "\\r");
+    }
+    
+    /**
+     * Undo {@link #escape}.
+     */
+    private static String unescape(String escaped) {
+        StringBuilder b = new StringBuilder(escaped.length());
+        for (int i = 0; i < escaped.length(); ++i) {
+            char c = escaped.charAt(i);
+            if (c == '\\' && i + 1 < escaped.length()) {
+                c = escaped.charAt(++i);
+                b.append(c == 'n' ? '\n' : c == 'r' ? '\r' : c);
+            } else {
+                b.append(c);
+            }
+        }
+        return b.toString();
+    }
+	
 	/*
 	// contains list of dependencies and initializer invocations in order to detect
 	// evil, nasty initialization cycles
@@ -243,7 +668,7 @@ class BuildState {
 	}
 	*/
     
-    public String toString() {
+    public synchronized String toString() {
        StringBuilder b = new StringBuilder("typeStates:\n");
        for (IType type: typeStates.keySet()) {
            b.append("  " + type.getFullyQualifiedName() + " " 
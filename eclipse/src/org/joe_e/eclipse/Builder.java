@@ -5,18 +5,34 @@
  */
 package org.joe_e.eclipse;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Map;
-import java.util.Queue;
+import java.util.HashMap;
 import java.util.List;
 import java.util.LinkedList;
 import java.util.Set;
 import java.util.HashSet;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.core.*;
 import org.eclipse.core.resources.*;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.QualifiedName;
 
 /**
  * The main class for the Joe-E verifier implementation.  The Eclipse framework
@@ -33,6 +49,11 @@ import org.eclipse.core.runtime.IProgressMonitor;
  * verification, and the cases in which changes to one file require
  * reverification of another are handled in Verifier and BuildState.
  * 
+ * The build state is saved when the workspace is saved, and restored by the
+ * first build of a later session, which then only verifies the files that
+ * have changed since and those that depend on them.  It is not restored if
+ * the taming database or the project's classpath has changed.
+ * 
  * Note: for the release version, it may be unnecessary to re-compute the
  * taming database on a clean rebuild if we wish to disallow modification of
  * the database anyway.
@@ -40,7 +61,29 @@ import org.eclipse.core.runtime.IProgressMonitor;
 public class Builder extends IncrementalProjectBuilder {
     public static final String BUILDER_ID = "org.joe_e.JoeEBuilder";
     protected static final String MARKER_TYPE = "org.joe_e.JoeEProblem";
+    /**
+     * Project session property naming the file in which to save the build
+     * state.  If set, the state is saved after each build, as the
+     * command-line verifier deletes its project before the workspace is
+     * saved; if unset, the state is saved in the project's working area
+     * when the workspace is saved.
+     */
+    static final QualifiedName STATE_FILE = 
+        new QualifiedName(Plugin.PLUGIN_ID, "stateFile");
     // private static final boolean DEBUG = false;
+    
+    /**
+     * Number of compilation units parsed and verified together by one worker
+     * in {@link #checkAll}.  Large enough that the parser's per-call setup
+     * is shared, small enough that progress and cancellation are seen often.
+     */
+    private static final int BATCH_SIZE = 16;
+    
+    /**
+     * Longest time, in milliseconds, that {@link #checkAll} waits for a
+     * batch before checking whether the build has been cancelled.
+     */
+    private static final long CANCEL_POLL_MILLIS = 100;
 
     /**
      * Checks whether a Java file has compilation errors
@@ -62,6 +105,54 @@ public class Builder extends IncrementalProjectBuilder {
         return areErrors;
     }
     
+    /**
+     * Computes a hash of the contents of a file, used to tell whether the
+     * file has changed since a saved build state was computed.
+     * @param file the file to hash
+     * @return the SHA-1 hash of the file's contents, in hexadecimal
+     * @throws CoreException
+     */
+    static String contentHash(IFile file) throws CoreException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException nsae) {
+            throw new RuntimeException(nsae); // required of every platform
+        }
+        InputStream contents = file.getContents();
+        try {
+            byte[] buffer = new byte[8192];
+            for (int n = contents.read(buffer); n >= 0; 
+                 n = contents.read(buffer)) {
+                digest.update(buffer, 0, n);
+            }
+        } catch (IOException e) {
+            // Wrap the IOException in a CoreException.
+            throw new JavaModelException
+                (e, IJavaModelStatusConstants.IO_EXCEPTION);
+        } finally {
+            try {
+                contents.close();
+            } catch (IOException e) {
+                // nothing was written, so nothing can be lost
+            }
+        }
+        
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16));
+            hex.append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+    
+    /**
+     * The builders of all open projects, for {@link #saveStates}.  Weakly
+     * held, so that the builder of a closed project can be collected.
+     */
+    private static final Map<Builder, Boolean> builders = 
+        new WeakHashMap<Builder, Boolean>();
+    
     private BuildState state = null;	// empty until first full build
     private Taming taming = null;
     private Verifier verifier = null;
@@ -140,7 +231,11 @@ public class Builder extends IncrementalProjectBuilder {
         case INCREMENTAL_BUILD:
         case AUTO_BUILD:
             if (state == null) {
-                fullBuild(monitor);
+                if (restoreState()) {
+                    resumeBuild(monitor);
+                } else {
+                    fullBuild(monitor);
+                }
             } else {
                 IResourceDelta delta = getDelta(getProject());
                 if (delta == null) {
@@ -158,81 +253,167 @@ public class Builder extends IncrementalProjectBuilder {
                                                + kind);
         }
 		
+        // Otherwise the state is saved with the workspace, by saveStates().
+        if (project.getSessionProperty(STATE_FILE) != null) {
+            saveState();
+        }
         return null;
     }
 
+    /**
+     * Register the builder, so that its build state is saved along with the
+     * workspace.
+     */
+    protected void startupOnInitialize() {
+        super.startupOnInitialize();
+        synchronized (builders) {
+            builders.put(this, Boolean.TRUE);
+        }
+    }
+
     /**
      * Clean up all build state. Should *not* trigger a rebuild, should just
      * clean everything up (like "build clean" in make).
      * 
      * Deletes the contents of the "taming" directory for autogenerated safej
-     * files.
+     * files, and the saved build state.
      */
     protected void clean(IProgressMonitor monitor) throws CoreException {
         state = null;
+        stateFile().delete();
         getProject().deleteMarkers(MARKER_TYPE, 
                 true, IResource.DEPTH_INFINITE);
         // delete safej's??
     }
         
     /**
-     * Invoke the Joe-E verifier on a compilation unit and update the markers
-     * for Joe-E problems. (First removes old problems, then runs verifier to
-     * generate new problems.)
-     * @param icu 
-     *          the compilation unit to check
-     * @return          
-     *          additional ICompilationUnits that must be re-verified due
-     *          to changes in this compilation unit
+     * The outcome of running the verifier on one compilation unit: the
+     * problems found, which are not yet posted as markers, and the units
+     * that must be re-verified as a result.
      */
-    private Collection<ICompilationUnit> 
-        checkAndUpdateProblems(ICompilationUnit icu) throws CoreException {
-        IFile file = (IFile) icu.getCorrespondingResource();     
-                
-        deleteMarkers(file);
-
-        if (!TogglePackageAction.isJoeE(
-                (IContainer) icu.getParent().getUnderlyingResource())) {
-            HashSet<ICompilationUnit> recheck = new HashSet<ICompilationUnit>();
-            for (IType type : icu.getAllTypes()) {
-                recheck.addAll(state.updateTags(type, BuildState.UNVERIFIED));
-            }
+    static class CheckResult {
+        final IFile file;
+        final SourceLocationConverter slc;  // null if not in a Joe-E package
+        final List<Problem> problems;
+        final Collection<ICompilationUnit> recheck;
+        final boolean skipped;              // true if Java errors were found
+        
+        CheckResult(IFile file, SourceLocationConverter slc,
+                    List<Problem> problems, 
+                    Collection<ICompilationUnit> recheck, boolean skipped) {
+            this.file = file;
+            this.slc = slc;
+            this.problems = problems;
+            this.recheck = recheck;
+            this.skipped = skipped;
+        }
+    }
+    
+    /**
+     * Invoke the Joe-E verifier on a batch of compilation units, without
+     * touching their markers.  The units that are to be verified are handed
+     * to the verifier together, so that it can parse them as one batch.
+     * Apart from updates to the build state, which is synchronized,
+     * everything is confined to the calling thread, so this may be called
+     * from several threads at once.
+     * @param units 
+     *          the compilation units to check
+     * @return
+     *          for each unit, in order, the problems found, for 
+     *          {@link #updateProblems}, and the additional ICompilationUnits
+     *          that must be re-verified
+     */
+    private List<CheckResult> check(List<ICompilationUnit> units) 
+        throws CoreException {
+        List<CheckResult> results = new ArrayList<CheckResult>(units.size());
+        List<ICompilationUnit> toVerify = new ArrayList<ICompilationUnit>();
+        Map<ICompilationUnit, List<Problem>> problems = 
+            new HashMap<ICompilationUnit, List<Problem>>();
+        Map<ICompilationUnit, String> hashes = 
+            new HashMap<ICompilationUnit, String>();
+        
+        for (ICompilationUnit icu : units) {
+            IFile file = (IFile) icu.getCorrespondingResource();     
             
-            return recheck;
+            if (!TogglePackageAction.isJoeE(
+                    (IContainer) icu.getParent().getUnderlyingResource())) {
+                HashSet<ICompilationUnit> recheck = 
+                    new HashSet<ICompilationUnit>();
+                for (IType type : icu.getAllTypes()) {
+                    recheck.addAll(state.updateTags(type, 
+                                                    BuildState.UNVERIFIED));
+                }
+                List<Problem> none = new LinkedList<Problem>();
+                state.recordResult(icu, contentHash(file), none);
+                results.add(new CheckResult(file, null, none, recheck, false));
+                continue;
+            }
+        
+            boolean jdtErrors = hasJavaErrors(file);
+        
+            SourceLocationConverter slc = new SourceLocationConverter(file);
+            List<Problem> unitProblems = new LinkedList<Problem>();
+            if (jdtErrors) {
+                unitProblems.add(new Problem("Joe-E verifier not run on " +
+                                             "this file due to compilation " +
+                                             "errors", IMarker.SEVERITY_INFO));
+                state.recordResult(icu, null, unitProblems);
+                results.add(new CheckResult(file, slc, unitProblems,
+                                            new LinkedList<ICompilationUnit>(),
+                                            true));
+            } else {
+                toVerify.add(icu);
+                problems.put(icu, unitProblems);
+                hashes.put(icu, contentHash(file));
+                // recheck is filled in once the batch has been verified
+                results.add(new CheckResult(file, slc, unitProblems, 
+                                            new HashSet<ICompilationUnit>(),
+                                            false));
+            }
         }
         
-        if (Preferences.isDebugEnabled()) {
-        	System.out.println("Checking file " + file.getFullPath() + ":");
+        Map<ICompilationUnit, Set<ICompilationUnit>> dependents = 
+            verifier.checkICUs(toVerify.toArray(new ICompilationUnit[0]),
+                               problems);
+        for (ICompilationUnit icu : toVerify) {
+            state.recordResult(icu, hashes.get(icu), problems.get(icu));
+        }
+        for (int i = 0; i < units.size(); ++i) {
+            Set<ICompilationUnit> recheck = dependents.get(units.get(i));
+            if (recheck != null) {
+                results.get(i).recheck.addAll(recheck);
+            }
         }
         
-        boolean jdtErrors = hasJavaErrors(file);
+        return results;
+    }
+    
+    /**
+     * Replace the markers for a compilation unit with those for the problems
+     * found by {@link #check}.  Must be called from the build thread.
+     * @param result
+     *          the outcome of checking the compilation unit
+     */
+    private void updateProblems(CheckResult result) throws CoreException {
+        deleteMarkers(result.file);
+        if (result.slc == null) {
+            return;
+        }
         
-        SourceLocationConverter slc = new SourceLocationConverter(file);
-        if (jdtErrors) {
-            addMarker(file, new Problem("Joe-E verifier not run on this " +
-        	    	                    "file due to compilation errors",
-        	    	                    IMarker.SEVERITY_INFO), slc);
-            if (Preferences.isDebugEnabled()) {
+        if (Preferences.isDebugEnabled()) {
+        	System.out.println("Checking file " + result.file.getFullPath() 
+        	                   + ":");
+            if (result.skipped) {
                 System.out.println("... file skipped due to Java compilation " +
                                    "errors");
+            } else {
+                int count = result.problems.size();
+                System.out.println("... found " + count + " problem" 
+                                   + (count == 1 ? "." : "s."));
             }
-            return new LinkedList<ICompilationUnit>();
-        } else {
-            List<Problem> problems = new LinkedList<Problem>();
-       
-            Collection<ICompilationUnit> recheck = 
-        	verifier.checkICU(icu, problems);
-		
-            // conditional on debugging
-            if (Preferences.isDebugEnabled()) {
-            	System.out.println("... found " + problems.size() + " problem" 
-                               + (problems.size() == 1 ? "." : "s."));
-            }
-            for (Problem problem : problems) {
-                addMarker(file, problem, slc);
-            }
-            
-            return recheck;
+        }
+        for (Problem problem : result.problems) {
+            addMarker(result.file, problem, result.slc);
         }
     }
    
@@ -278,8 +459,11 @@ public class Builder extends IncrementalProjectBuilder {
     }
 
     /**
-     * Rebuild everything in the project.  Currently does not support 
-     * cancellation of the build.  
+     * Rebuild everything in the project.  Compilation units are verified in
+     * parallel by {@link #checkAll}, which stops if the build is cancelled;
+     * their markers are then updated together once all have been checked.
+     * A cancelled build leaves no build state, so the next build is a full
+     * one.
      * 
      * @param monitor
      *          progress monitor to report progress of the build.
@@ -289,24 +473,36 @@ public class Builder extends IncrementalProjectBuilder {
         state = new BuildState(jp); // clear build state
         
         taming = new Taming(new java.io.File(Preferences.getTamingPath()), jp);
+        try {
+            state.recordEnvironment(Preferences.getTamingPath());
+        } catch (IOException ioe) {
+            ioe.printStackTrace();
+            // No need to rethrow an exception here: the state will just not
+            // be saved, and the next session will start with a full build.
+        }
         
         verifier = new Verifier(state, taming);
 	
         ResourceVisitor rv = new ResourceVisitor();
         getProject().accept(rv);
         Set<ICompilationUnit> inBuild = rv.inBuild; 
-        Queue<ICompilationUnit> workQueue = 
-            new LinkedList<ICompilationUnit>(inBuild);
-            
-        monitor.beginTask("Joe-E full build", workQueue.size() + 1);
             
-        while (!workQueue.isEmpty()) {
-            ICompilationUnit current = workQueue.remove();
-            // for full build, ignore dependency-induced build requests --
-            // everything should already be included.
-            monitor.subTask("Running Verifier on " + current.getElementName());
-            checkAndUpdateProblems(current);
-            monitor.worked(1);
+        monitor.beginTask("Joe-E full build", inBuild.size() + 1);
+        
+        // for full build, ignore dependency-induced build requests --
+        // everything should already be included.
+        List<CheckResult> results;
+        try {
+            results = checkAll(inBuild, monitor);
+        } catch (OperationCanceledException oce) {
+            // The state covers only some of the units, so the next build
+            // must be a full one rather than work from it.
+            state = null;
+            forgetLastBuiltState();
+            throw oce;
+        }
+        for (CheckResult result : results) {
+            updateProblems(result);
         }
 
         taming.outputRuntimeDatabase(); // counts as one additional task
@@ -314,6 +510,117 @@ public class Builder extends IncrementalProjectBuilder {
         needRebuild(); // force java builder to be re-run on modified policy.
     }
     
+    /**
+     * Run the verifier on a set of compilation units using a pool of worker
+     * threads, one per available processor.  The units are split into
+     * batches of {@link #BATCH_SIZE}, each parsed and verified together by
+     * {@link #check}, and the workers take batches from the pool's shared
+     * queue as they finish their last, so a batch of slow units holds up
+     * only its own worker.  Each unit's problems are kept in a list confined
+     * to the worker that checks it, so the results are the same as if the
+     * units were checked one after another.  No markers are touched: the
+     * build thread holds the workspace lock, so they are left for the caller
+     * to update from that thread.
+     * 
+     * @param units
+     *          the compilation units to check
+     * @param monitor
+     *          progress monitor, advanced as each batch is checked and
+     *          polled for cancellation between batches; only called from the
+     *          build thread
+     * @return the result of checking each unit, in iteration order
+     * @throws OperationCanceledException
+     *          if the build is cancelled; batches not yet started are
+     *          dropped
+     */
+    private List<CheckResult> checkAll(Collection<ICompilationUnit> units,
+                                       IProgressMonitor monitor) 
+        throws CoreException {
+        List<ICompilationUnit> all = new ArrayList<ICompilationUnit>(units);
+        List<List<ICompilationUnit>> batches = 
+            new ArrayList<List<ICompilationUnit>>();
+        for (int i = 0; i < all.size(); i += BATCH_SIZE) {
+            batches.add(all.subList(i, Math.min(i + BATCH_SIZE, all.size())));
+        }
+        monitor.subTask("Running Verifier on " + all.size() + 
+                        " compilation units");
+        int threads = Math.min(batches.size(), 
+                               Runtime.getRuntime().availableProcessors());
+        if (threads <= 1) {
+            List<CheckResult> results = new ArrayList<CheckResult>(all.size());
+            for (List<ICompilationUnit> batch : batches) {
+                if (monitor.isCanceled()) {
+                    throw new OperationCanceledException();
+                }
+                results.addAll(check(batch));
+                monitor.worked(batch.size());
+            }
+            return results;
+        }
+        
+        // Results are stored by batch number, as batches finish in any order.
+        final List<List<CheckResult>> done = 
+            new ArrayList<List<CheckResult>>(batches.size());
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        try {
+            CompletionService<Integer> finished = 
+                new ExecutorCompletionService<Integer>(workers);
+            for (int i = 0; i < batches.size(); ++i) {
+                done.add(null);
+                final int index = i;
+                final List<ICompilationUnit> batch = batches.get(i);
+                finished.submit(new Callable<Integer>() {
+                    public Integer call() throws CoreException {
+                        List<CheckResult> batchResults = check(batch);
+                        synchronized (done) {
+                            done.set(index, batchResults);
+                        }
+                        return index;
+                    }
+                });
+            }
+            for (int remaining = batches.size(); remaining > 0;) {
+                if (monitor.isCanceled()) {
+                    throw new OperationCanceledException();
+                }
+                Future<Integer> next;
+                try {
+                    next = finished.poll(CANCEL_POLL_MILLIS, 
+                                         TimeUnit.MILLISECONDS);
+                    if (next == null) {
+                        continue;
+                    }
+                    monitor.worked(batches.get(next.get()).size());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new OperationCanceledException();
+                } catch (ExecutionException ee) {
+                    Throwable cause = ee.getCause();
+                    if (cause instanceof CoreException) {
+                        throw (CoreException) cause;
+                    } else if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    } else if (cause instanceof Error) {
+                        throw (Error) cause;
+                    } else {
+                        throw new RuntimeException(cause);
+                    }
+                }
+                --remaining;
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        
+        List<CheckResult> results = new ArrayList<CheckResult>(all.size());
+        synchronized (done) {
+            for (List<CheckResult> batchResults : done) {
+                results.addAll(batchResults);
+            }
+        }
+        return results;
+    }
+    
     /**
      * Visitor that extracts the set of all ICompilationUnits from an 
      * IResourceDelta.  Iterates through the resources in the project, 
@@ -372,37 +679,63 @@ public class Builder extends IncrementalProjectBuilder {
     	throws CoreException {     
         DeltaVisitor dv = new DeltaVisitor();
         delta.accept(dv);
-        Set<ICompilationUnit> inBuild = dv.inBuild;
+        incrementalBuild(dv.inBuild, monitor);
+    }
+    
+    /**
+     * Rebuild a set of compilation units, as well as files determined to
+     * need rebuilding after these compilation units are built.
+     * 
+     * @param inBuild
+     *          The compilation units that have changed or are newly created
+     *          and require verification.  Units found to need rebuilding
+     *          are added to this set.
+     * @param monitor
+     *          progress monitor to report progress of the build.
+     * @throws CoreException
+     *          when an error occurs that prevents invocation of the verifier
+     *          or a problem is discovered for which a Marker cannot be
+     *          created.
+     */
+    void incrementalBuild(Set<ICompilationUnit> inBuild, 
+                          IProgressMonitor monitor) throws CoreException {
         if (inBuild.isEmpty()) {
             return;
         }
         
-        Queue<ICompilationUnit> workQueue = 
-            new LinkedList<ICompilationUnit>(inBuild);
+        // Units are verified in waves, each wave handed to the verifier as
+        // one batch: first the changed units, then those they require to be
+        // rechecked that are not already part of the build, and so on.
+        // This is the order in which a single work queue would visit them.
+        List<ICompilationUnit> wave = new ArrayList<ICompilationUnit>(inBuild);
         
         int fewestTasksRemaining = inBuild.size();
         monitor.beginTask("Joe-E incremental build", fewestTasksRemaining + 1);
             
-        while (!workQueue.isEmpty()) {
-            ICompilationUnit current = workQueue.remove();
-            monitor.subTask("Running Verifier on " + current.getElementName());
+        while (!wave.isEmpty()) {
+            monitor.subTask("Running Verifier on " + wave.size() + 
+                            " compilation units");
             // additional units to build
-            Collection<ICompilationUnit> additional = 
-                checkAndUpdateProblems(current);
-            for (ICompilationUnit i : additional) {
-                // add to build and to work queue if it's not already part of
-                // the build
-                if (inBuild.add(i)) {
-                    workQueue.add(i);
+            List<ICompilationUnit> additional = 
+                new ArrayList<ICompilationUnit>();
+            for (CheckResult result : check(wave)) {
+                updateProblems(result);
+                for (ICompilationUnit i : result.recheck) {
+                    // add to build and to next wave if it's not already part
+                    // of the build
+                    if (inBuild.add(i)) {
+                        additional.add(i);
+                    }
                 }
             }
+            wave = additional;
             // Report progress if we reach a new low-water-mark of
-            // compilation units remaining to check.  (This will always be
-            // a decrease of 1).  Could be made more accurate; incremental
-            // builds are likely to be fast anyway, though.
-            if (workQueue.size() < fewestTasksRemaining) {
-                monitor.worked(1);
-                --fewestTasksRemaining;
+            // compilation units remaining to check.  Could be made more
+            // accurate; incremental builds are likely to be fast anyway,
+            // though.
+            if (wave.size() < fewestTasksRemaining) {
+                monitor.worked(fewestTasksRemaining - wave.size());
+                fewestTasksRemaining = wave.size();
             }
         }
         
@@ -411,6 +744,135 @@ public class Builder extends IncrementalProjectBuilder {
         needRebuild();
 	}
     
+    /**
+     * Where the build state is saved between sessions: the file named by the
+     * project's {@link #STATE_FILE} property if it is set, otherwise a file
+     * in the project's working area.
+     */
+    private java.io.File stateFile() throws CoreException {
+        IProject project = getProject();
+        String path = (String) project.getSessionProperty(STATE_FILE);
+        if (path != null) {
+            return new java.io.File(path);
+        } else {
+            return project.getWorkingLocation(Plugin.PLUGIN_ID)
+                          .append("buildstate").toFile();
+        }
+    }
+    
+    /**
+     * Save the build state of every project, or of one, for use by a later
+     * session.  Called by the plug-in's save participant when the workspace
+     * is saved.
+     * 
+     * @param project
+     *          the project being saved, or null for the whole workspace
+     */
+    static void saveStates(IProject project) throws CoreException {
+        List<Builder> all;
+        synchronized (builders) {
+            all = new ArrayList<Builder>(builders.keySet());
+        }
+        for (Builder builder : all) {
+            IProject own = builder.getProject();
+            if ((project == null || project.equals(own)) 
+                && own.isAccessible()) {
+                builder.saveState();
+            }
+        }
+    }
+    
+    /**
+     * Save the build state, if there is one, for use by a later session.
+     */
+    private void saveState() throws CoreException {
+        if (state == null) {
+            return;
+        }
+        try {
+            state.save(stateFile());
+        } catch (IOException ioe) {
+            ioe.printStackTrace();
+            // No need to rethrow an exception here: without a saved state,
+            // the next session will simply start with a full build.
+        }
+    }
+    
+    /**
+     * Restore the build state saved by an earlier session, along with a new
+     * taming database and verifier for it.
+     * 
+     * @return <code>true</code> if a saved state was restored
+     */
+    private boolean restoreState() throws CoreException {
+        java.io.File file = stateFile();
+        if (!file.isFile()) {
+            return false;
+        }
+        
+        IJavaProject jp = JavaCore.create(getProject());
+        BuildState restored;
+        try {
+            restored = BuildState.load(jp, file, Preferences.getTamingPath());
+        } catch (IOException ioe) {
+            System.out.println("Saved Joe-E build state not used: " + ioe);
+            return false;
+        }
+        
+        taming = new Taming(new java.io.File(Preferences.getTamingPath()), jp);
+        
+        state = restored;
+        verifier = new Verifier(state, taming);
+        return true;
+    }
+    
+    /**
+     * Bring a restored build state up to date.  Files unchanged since the
+     * state was saved, and without Java errors, get back the markers
+     * recorded for them; the rest are rebuilt, as well as files determined
+     * to need rebuilding after they are built.
+     * 
+     * @param monitor
+     *          progress monitor to report progress of the build.
+     */
+    void resumeBuild(IProgressMonitor monitor) throws CoreException {
+        ResourceVisitor rv = new ResourceVisitor();
+        getProject().accept(rv);
+        Set<ICompilationUnit> changed = new HashSet<ICompilationUnit>();
+        for (ICompilationUnit icu : rv.inBuild) {
+            IFile file = (IFile) icu.getCorrespondingResource();
+            ICUState saved = state.icuStates.get(icu);
+            if (saved == null || saved.hash == null || hasJavaErrors(file)
+                || !saved.hash.equals(contentHash(file))) {
+                changed.add(icu);
+                if (icu.getElementName().equals("package-info.java")) {
+                    // as in DeltaVisitor: every file in the package may be
+                    // affected.
+                    IPackageFragment pkg = (IPackageFragment) icu.getParent();
+                    for (ICompilationUnit sibling : pkg.getCompilationUnits()) {
+                        changed.add(sibling);
+                    }
+                }
+            } else {
+                deleteMarkers(file);
+                if (!saved.problems.isEmpty()) {
+                    SourceLocationConverter slc = 
+                        new SourceLocationConverter(file);
+                    for (Problem problem : saved.problems) {
+                        addMarker(file, problem, slc);
+                    }
+                }
+            }
+        }
+        
+        if (Preferences.isDebugEnabled()) {
+            System.out.println("Restored build state; " + changed.size() 
+                               + " of " + rv.inBuild.size() 
+                               + " files to check.");
+        }
+        incrementalBuild(changed, monitor);
+    }
+    
     /**
      * Visitor that extracts the set of changed ICompilationUnits from an 
      * IResourceDelta.  Iterates through the resources in the delta, converting
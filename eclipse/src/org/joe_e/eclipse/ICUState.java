@@ -5,6 +5,8 @@
  */
 package org.joe_e.eclipse;
 
+import java.util.List;
+import java.util.LinkedList;
 import java.util.Set;
 import java.util.HashSet;
 import org.eclipse.jdt.core.IType;
@@ -15,9 +17,14 @@ import org.eclipse.jdt.core.IType;
 class ICUState {
 	Set<IType> references;  // verifer dependencies of this compilation unit on other classes 
 						    //  (either shallow or deep dependencies -- see ITypeState)
+	String hash;            // hash of the contents last checked, or null if
+	                        //  the unit must be checked again on restore
+	List<Problem> problems; // problems found when last checked
 	
 	ICUState() {
 		this.references = new HashSet<IType>();
+		this.hash = null;
+		this.problems = new LinkedList<Problem>();
 	}
 
     public String toString() {
@@ -52,6 +52,8 @@ public class Main implements IApplication {
 	boolean debug = false;
 	boolean help = false;			// if true then print usageString and exit.
 	String tamingPath = null;				// where is the taming database
+	String statePath = null;			// where to keep the build state
+	                                    //   between runs, if anywhere
 	String[] classPathEntries = null;   // location of the joe-e library and
 	                                    //   other external classes
 	static final String usageString = 
@@ -62,6 +64,9 @@ public class Main implements IApplication {
 	    " -classpath PATH_OR_JAR[" + pathSeparator + "PATH_OR_JAR]...\n" +
 	    "                 The compilation classpath, which must include\n" + 
 	    "                 the Joe-E library.  Required.\n" +
+	    " -state FILE     Keep the verifier's state in FILE between runs,\n" +
+	    "                 so that only files changed since the last run,\n" +
+	    "                 and those depending on them, are re-verified.\n" +
 	    " -markasjoee     Mark all packages as Joe-E packages.\n" +
 	    " -fail           Fail if any package isn't Joe-E.\n" +
 	    " -verbose        Enable additional debugging output.\n\n" +
@@ -89,6 +94,11 @@ public class Main implements IApplication {
 						System.out.println("ERROR: did you specify your taming database correctly?");
 					}
 				}
+			} else if (args[i].equals("-state")) {
+				if (i + 1 < args.length && !(args[i + 1].startsWith("-"))) {
+					statePath = new File(args[i + 1]).getAbsolutePath();
+					i++;
+				}
 			} else if (args[i].equals("-markasjoee")) {
 				markAsJoeE = true;
 			} else if (args[i].equals("-fail")) {
@@ -183,7 +193,16 @@ public class Main implements IApplication {
 			
 			if (build) {
 				// if we haven't had any problems so far, build the project
-				proj.build(IncrementalProjectBuilder.FULL_BUILD, null);		
+				if (statePath == null) {
+					proj.build(IncrementalProjectBuilder.FULL_BUILD, null);
+				} else {
+					// the Joe-E builder restores the state saved by the last
+					// run, if any, and only checks what has changed since
+					proj.setSessionProperty(Builder.STATE_FILE, statePath);
+					proj.build(IncrementalProjectBuilder.INCREMENTAL_BUILD, 
+					           null);
+				}
+
 				int errors = Printer.printErrors(proj);		
 		        
 		        // refresh the project -- why?
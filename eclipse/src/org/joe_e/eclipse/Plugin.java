@@ -5,6 +5,10 @@
  */
 package org.joe_e.eclipse;
 
+import org.eclipse.core.resources.ISaveContext;
+import org.eclipse.core.resources.ISaveParticipant;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.ui.plugin.*;
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.osgi.framework.BundleContext;
@@ -19,6 +23,26 @@ public class Plugin extends AbstractUIPlugin {
 	//The shared instance.
 	private static Plugin plugin;
 	
+	/**
+	 * Saves the Joe-E build state of each project when the workspace, or
+	 * the project, is saved, rather than after every build.
+	 */
+	private static final ISaveParticipant saver = new ISaveParticipant() {
+		public void prepareToSave(ISaveContext context) {}
+		
+		public void saving(ISaveContext context) throws CoreException {
+			if (context.getKind() == ISaveContext.PROJECT_SAVE) {
+				Builder.saveStates(context.getProject());
+			} else if (context.getKind() == ISaveContext.FULL_SAVE) {
+				Builder.saveStates(null);
+			}
+		}
+		
+		public void doneSaving(ISaveContext context) {}
+		
+		public void rollback(ISaveContext context) {}
+	};
+	
 	/**
 	 * The constructor.
 	 */
@@ -31,12 +55,14 @@ public class Plugin extends AbstractUIPlugin {
 	 */
 	public void start(BundleContext context) throws Exception {
 		super.start(context);
+		ResourcesPlugin.getWorkspace().addSaveParticipant(this, saver);
 	}
 
 	/**
 	 * This method is called when the plug-in is stopped
 	 */
 	public void stop(BundleContext context) throws Exception {
+		ResourcesPlugin.getWorkspace().removeSaveParticipant(this);
 		super.stop(context);
 		plugin = null;
 	}
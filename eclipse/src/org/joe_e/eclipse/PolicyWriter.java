@@ -5,7 +5,6 @@ import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
 import java.util.TreeMap;
 import java.util.Map;
-import java.util.List;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
@@ -33,8 +32,17 @@ public class PolicyWriter {
         out.println("public class Policy {");
         out.println("    private Policy() {}");
         out.println();
-        out.println("    private static HashMap<String, String[]> honoraries = ");       
-        out.println("        new HashMap<String, String[]>();");      
+        out.println("    public static final int SELFLESS = " +
+                    hex(BuildState.IMPL_SELFLESS) + ";");
+        out.println("    public static final int IMMUTABLE = " +
+                    hex(BuildState.IMPL_IMMUTABLE) + ";");
+        out.println("    public static final int POWERLESS = " +
+                    hex(BuildState.IMPL_POWERLESS) + ";");
+        out.println("    public static final int EQUATABLE = " +
+                    hex(BuildState.IS_EQUATABLE) + ";");
+        out.println();
+        out.println("    private static HashMap<String, Integer> honoraries = ");
+        out.println("        new HashMap<String, Integer>();");
         out.println("    private static HashSet<String> fields = " 
                     + "new HashSet<String>();");
         out.println("    private static HashSet<String> constructors = "
@@ -42,16 +50,29 @@ public class PolicyWriter {
         out.println("    private static HashSet<String> methods = "
                     + "new HashSet<String>();");
         out.println();
+        out.println("    public static int honoraryMask(String type) {");
+        out.println("        Integer mask = honoraries.get(type);");
+        out.println("        return (mask == null) ? 0 : mask;");
+        out.println("    }");
+        out.println();
         out.println("    public static boolean hasHonorary(String type, " +
                                                           "String honorary) {");
-        out.println("        if (honoraries.containsKey(type)) {");
-        out.println("            for (String hon : honoraries.get(type)) {");
-        out.println("                if (hon.equals(honorary)) {");
-        out.println("                    return true;");
-        out.println("                }");
-        out.println("            }");
+        out.println("        int bit;");
+        out.println("        if (honorary.equals(\"org.joe_e.Selfless\")) {");
+        out.println("            bit = SELFLESS;");
+        out.println("        } else if (honorary.equals(" +
+                                        "\"org.joe_e.Immutable\")) {");
+        out.println("            bit = IMMUTABLE;");
+        out.println("        } else if (honorary.equals(" +
+                                        "\"org.joe_e.Powerless\")) {");
+        out.println("            bit = POWERLESS;");
+        out.println("        } else if (honorary.equals(" +
+                                        "\"org.joe_e.Equatable\")) {");
+        out.println("            bit = EQUATABLE;");
+        out.println("        } else {");
+        out.println("            return false;");
         out.println("        }");
-        out.println("        return false;");
+        out.println("        return (honoraryMask(type) & bit) != 0;");
         out.println("    }");
         out.println();
         out.println("    public static boolean fieldEnabled(String " + 
@@ -83,19 +104,10 @@ public class PolicyWriter {
             out.println((firstType ? "" : "\n") + "        // Type " + fqn);
             firstType = false;
             
-            List<IType> honoraries = taming.detag(e.honoraries);
-            if (honoraries != null && !honoraries.isEmpty()) {
-                //out.print("        honoraries.add(" + fqn + 
-                //          ".class, new Class<?>[]{");
-                out.print("        honoraries.put(\"" + fqn + 
-                          "\", new String[]{");
-                boolean firstHon = true;
-                for (IType hon : honoraries) {
-                    out.print(firstHon ? "" : ", ");
-                    firstHon = false;
-                    out.print("\"" + hon.getFullyQualifiedName() + "\"");
-                }
-                out.println("});");
+            String mask = maskExpression(e.honoraries);
+            if (mask != null) {
+                out.println("        honoraries.put(\"" + fqn + "\", " + mask +
+                            ");");
             }
             
             Map<IField, String> fields = e.allowedFields;
@@ -154,4 +166,35 @@ public class PolicyWriter {
             ce.printStackTrace(System.err);
         }
     }
+    
+    /**
+     * Formats a BuildState tag as it appears in the generated class.
+     */
+    static String hex(int tag) {
+        return String.format("0x%04x", tag);
+    }
+    
+    /**
+     * Renders a set of honorary tags as an expression over the marker
+     * interface constants of the generated class, listed in the same order
+     * as Taming.detag() would return them.
+     * @param tags the honoraries of a type
+     * @return the expression, or null if there are no honoraries
+     */
+    static String maskExpression(int tags) {
+        StringBuilder sb = new StringBuilder();
+        if (BuildState.isImmutable(tags)) {
+            sb.append(" | IMMUTABLE");
+        }
+        if (BuildState.isPowerless(tags)) {
+            sb.append(" | POWERLESS");
+        }
+        if (BuildState.isSelfless(tags)) {
+            sb.append(" | SELFLESS");
+        }
+        if (BuildState.isEquatable(tags)) {
+            sb.append(" | EQUATABLE");
+        }
+        return (sb.length() == 0) ? null : sb.substring(3);
+    }
 }
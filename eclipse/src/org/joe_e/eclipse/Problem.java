@@ -44,6 +44,14 @@ public class Problem {
         this.severity = IMarker.SEVERITY_ERROR;
     }
 	
+    public Problem(String message, int severity, int start, int length)
+    {
+        this.message = message;
+        this.start = start;
+        this.length = length;
+        this.severity = severity;
+    }
+	
     public String getMessage() {
         return message;
     }
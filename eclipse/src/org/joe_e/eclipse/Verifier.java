@@ -9,8 +9,8 @@ import org.eclipse.jdt.core.*;
 
 import org.eclipse.jdt.core.dom.*;
 
-import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Stack;
 import java.util.LinkedList;
 import java.util.Set;
@@ -23,8 +23,8 @@ import java.util.Arrays;
  * This class contains the actual checks performed by the Joe-E verifier. The
  * builder creates an instance of this class and gives it references to a Java
  * project and the associated build state and taming database. It then invokes
- * the checkICU() method of this class, specifying a compilation unit to be
- * checked.
+ * the checkICUs() method of this class, specifying the compilation units to
+ * be checked.
  * 
  * A new instance of this class is created on a clean build, in order to
  * associate it with a new build state.
@@ -54,23 +54,34 @@ public class Verifier {
 
     
     /**
-     * Run the Joe-E verifier on an ICompilationUnit. Problems encountered are
-     * appended to the supplied list of problems.
+     * Run the Joe-E verifier on a batch of ICompilationUnits from the
+     * project.  The units are parsed together, so that the bindings they
+     * share are resolved once for the batch rather than once per unit; each
+     * AST is verified as soon as it is created.  A unit for which no AST is
+     * created is reported as a failed analysis, never as verified.
      * 
-     * @param icu
-     *            ICompilationUnit on which to run the verifier
+     * @param icus
+     *            ICompilationUnits on which to run the verifier
      * @param problems
-     *            A List of Problems (Joe-E verification errors) to which to
-     *            append Problems encountered
-     * @return a Collection of ICompilationUnits that must be rechecked due to
-     *         changes made to icu since it was last built
+     *            for each ICompilationUnit, a List of Problems to which to
+     *            append Problems encountered in it
+     * @return for each ICompilationUnit, the ICompilationUnits that must be
+     *         rechecked due to changes made to it since it was last built
      */
-    Collection<ICompilationUnit> checkICU(ICompilationUnit icu,
-                                          List<Problem> problems) {
-        // Clear any state existing from previous build of icu.
-        state.prebuild(icu);
-        Set<ICompilationUnit> dependents = new HashSet<ICompilationUnit>();
-
+    Map<ICompilationUnit, Set<ICompilationUnit>> 
+        checkICUs(ICompilationUnit[] icus, 
+                  final Map<ICompilationUnit, List<Problem>> problems) {
+        final Map<ICompilationUnit, Set<ICompilationUnit>> dependents =
+            new HashMap<ICompilationUnit, Set<ICompilationUnit>>();
+        for (ICompilationUnit icu : icus) {
+            // Clear any state existing from previous build of icu.
+            state.prebuild(icu);
+            dependents.put(icu, new HashSet<ICompilationUnit>());
+        }
+        if (icus.length == 0) {
+            return dependents;
+        }
+        
         /*
          * Checks to ensure org.joe_e package is not used in source files.
          * Disabled for now.
@@ -99,26 +110,60 @@ public class Verifier {
             
         */
 
+        final Set<ICompilationUnit> unverified = 
+            new HashSet<ICompilationUnit>(dependents.keySet());
         try {
             ASTParser parser = ASTParser.newParser(AST.JLS3);
-            parser.setSource(icu);
+            parser.setProject(state.ijp);
             parser.setResolveBindings(true);
-            ASTNode parse = parser.createAST(null);
-        
-            VerifierASTVisitor vav = new VerifierASTVisitor(icu, parse.getAST(),
-                                         dependents, problems);
-            parse.accept(vav);      
+            parser.createASTs(icus, new String[0], new ASTRequestor() {
+                public void acceptAST(ICompilationUnit icu, 
+                                      CompilationUnit parse) {
+                    unverified.remove(icu);
+                    try {
+                        VerifierASTVisitor vav = 
+                            new VerifierASTVisitor(icu, parse.getAST(),
+                                                   dependents.get(icu), 
+                                                   problems.get(icu));
+                        parse.accept(vav);
+                    } catch (Throwable e) {
+                        abort(e, problems.get(icu));
+                    }
+                }
+            }, null);
         } catch (Throwable e) {
-            // Catch any unexpected exceptions or errors during verification
-            System.out.println("Abort due to undeclared Throwable! " + e);
-            e.printStackTrace();
-            problems.add(new Problem("Analysis of file failed due to BUG IN " +
-                                     "VERIFIER or I/O error. (unexpected " +
-                                     "exception)"));
+            // Parsing failed; blame the units not yet verified.
+            for (ICompilationUnit icu : unverified) {
+                abort(e, problems.get(icu));
+            }
+            unverified.clear();
+        }
+        // Fail closed: a unit the parser skipped has not been verified.
+        for (ICompilationUnit icu : unverified) {
+            abort(new IllegalStateException("no AST created for " + 
+                                            icu.getElementName()),
+                  problems.get(icu));
         }
 
         return dependents;
     }
+    
+    /**
+     * Record that verification of a compilation unit was abandoned.
+     * 
+     * @param e
+     *            the unexpected exception or error that caused the abort
+     * @param problems
+     *            the List of Problems for the compilation unit
+     */
+    private void abort(Throwable e, List<Problem> problems) {
+        // Catch any unexpected exceptions or errors during verification
+        System.out.println("Abort due to undeclared Throwable! " + e);
+        e.printStackTrace();
+        problems.add(new Problem("Analysis of file failed due to BUG IN " +
+                                 "VERIFIER or I/O error. (unexpected " +
+                                 "exception)"));
+    }
      
     /**
      * AST visitor class.
@@ -0,0 +1,256 @@
+// Copyright 2008 Regents of the University of California.  May be used
+// under the terms of the revised BSD license.  See LICENSING for details.
+package org.joe_e;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+
+import org.joe_e.array.ConstArray;
+import org.joe_e.reflect.ClassCache;
+
+/**
+ * A transitive immutability check.  {@link JoeE#isFrozen} only looks at the
+ * overlay type of an object; <code>check()</code> walks the whole graph
+ * reachable from it, so that trusted code can decide whether the graph may be
+ * shared between threads without first being copied.
+ * <p>
+ * An object is deeply frozen if it is immutable in the overlay type system,
+ * or if all of its instance fields are final and refer to deeply frozen
+ * objects.  A {@link ConstArray} is deeply frozen if its elements are.  Java
+ * arrays never are.  Each object is visited at most once, so cycles are
+ * handled, and the facts about each class are worked out only once per JVM.
+ * <p>
+ * This class reads private fields by reflection, so it is for use by trusted
+ * infrastructure (non-Joe-E) code only, and is deliberately absent from the
+ * taming database.
+ */
+public final class DeepFreeze {
+
+    private final String path;
+    private final Class<?> culprit;
+    private final String reason;
+
+    private DeepFreeze(final String path, final Class<?> culprit,
+                       final String reason) {
+        this.path = path;
+        this.culprit = culprit;
+        this.reason = reason;
+    }
+
+    static private final DeepFreeze FROZEN = new DeepFreeze(null, null, null);
+
+    /**
+     * Checks whether the graph of objects reachable from an object is
+     * immutable.
+     * @param root the object to check; <code>null</code> is frozen
+     * @return the verdict
+     */
+    static public DeepFreeze check(final Object root) {
+        if (root == null) {
+            return FROZEN;
+        }
+        final Shape rootShape = shapeOf(root.getClass());
+        if (rootShape.kind == Shape.FROZEN) {
+            return FROZEN;
+        } else if (rootShape.kind == Shape.MUTABLE) {
+            return new DeepFreeze("", root.getClass(), rootShape.reason);
+        }
+
+        final IdentityHashMap<Object, Object> seen =
+            new IdentityHashMap<Object, Object>();
+        final ArrayList<Frame> stack = new ArrayList<Frame>();
+        seen.put(root, root);
+        stack.add(new Frame(root, rootShape));
+        while (!stack.isEmpty()) {
+            final Frame top = stack.get(stack.size() - 1);
+            if (!top.advance()) {
+                stack.remove(stack.size() - 1);
+                continue;
+            }
+            final Object child;
+            try {
+                child = top.child();
+            } catch (final IllegalAccessException e) {
+                return failure(stack, top.obj.getClass(),
+                               "field is not accessible");
+            }
+            if (child == null || seen.containsKey(child)) {
+                continue;
+            }
+            final Shape shape = shapeOf(child.getClass());
+            if (shape.kind == Shape.MUTABLE) {
+                return failure(stack, child.getClass(), shape.reason);
+            } else if (shape.kind != Shape.FROZEN) {
+                seen.put(child, child);
+                stack.add(new Frame(child, shape));
+            }
+        }
+        return FROZEN;
+    }
+
+    static private DeepFreeze failure(final ArrayList<Frame> stack,
+                                      final Class<?> culprit,
+                                      final String reason) {
+        final StringBuilder path = new StringBuilder();
+        for (final Frame f : stack) {
+            f.appendLabel(path);
+        }
+        return new DeepFreeze(path.toString(), culprit, reason);
+    }
+
+    /**
+     * Is the object graph immutable?
+     * @return <code>true</code> if every reachable object is frozen
+     */
+    public boolean isFrozen() {
+        return path == null;
+    }
+
+    /**
+     * Gets the route from the checked object to the first object found not
+     * to be frozen, as a sequence of <code>.field</code> and
+     * <code>[index]</code> steps.
+     * @return the path, the empty string if the checked object itself is not
+     *  frozen, or <code>null</code> if the graph is frozen
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Gets the class of the first object found not to be frozen.
+     * @return the class, or <code>null</code> if the graph is frozen
+     */
+    public Class<?> getCulprit() {
+        return culprit;
+    }
+
+    /**
+     * Gets a description of why that object is not frozen.
+     * @return the description, or <code>null</code> if the graph is frozen
+     */
+    public String getReason() {
+        return reason;
+    }
+
+    public String toString() {
+        if (path == null) {
+            return "frozen";
+        }
+        return "not frozen at root" + path + " (" + culprit.getName() + ": " +
+               reason + ")";
+    }
+
+    /**
+     * What needs to be done to check an instance of a class.
+     */
+    static private final class Shape {
+        static final int FROZEN = 0;    // nothing: the class is immutable
+        static final int MUTABLE = 1;   // nothing: the class never is
+        static final int FIELDS = 2;    // check the referents of the fields
+        static final int ELEMENTS = 3;  // check the ConstArray elements
+
+        final int kind;
+        final Field[] fields;
+        final String reason;
+
+        Shape(final int kind, final Field[] fields, final String reason) {
+            this.kind = kind;
+            this.fields = fields;
+            this.reason = reason;
+        }
+    }
+
+    static private final ClassCache<Shape> shapes = new ClassCache<Shape>();
+
+    static private Shape shapeOf(final Class<?> type) {
+        Shape s = shapes.get(type);
+        if (s == null) {
+            s = computeShape(type);
+            shapes.put(type, s);
+        }
+        return s;
+    }
+
+    static private Shape computeShape(final Class<?> type) {
+        if (JoeE.isSubtypeOf(type, Immutable.class)) {
+            return new Shape(Shape.FROZEN, null, null);
+        } else if (type.isArray()) {
+            return new Shape(Shape.MUTABLE, null, "Java array");
+        } else if (ConstArray.class.isAssignableFrom(type)) {
+            return new Shape(Shape.ELEMENTS, null, null);
+        }
+
+        final ArrayList<Field> toCheck = new ArrayList<Field>();
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            for (final Field f : c.getDeclaredFields()) {
+                final int modifiers = f.getModifiers();
+                if (Modifier.isStatic(modifiers)) {
+                    continue;
+                }
+                if (!Modifier.isFinal(modifiers)) {
+                    return new Shape(Shape.MUTABLE, null, "field " +
+                                     f.getName() + " is not final");
+                }
+                if (f.getType().isPrimitive()) {
+                    continue;
+                }
+                try {
+                    f.setAccessible(true);
+                } catch (final RuntimeException e) {
+                    // SecurityException, or the field is in a module that
+                    // does not open its package.
+                    return new Shape(Shape.MUTABLE, null, "field " +
+                                     f.getName() + " is not accessible");
+                }
+                toCheck.add(f);
+            }
+        }
+        if (toCheck.isEmpty()) {
+            return new Shape(Shape.FROZEN, null, null);
+        }
+        return new Shape(Shape.FIELDS, toCheck.toArray(new Field[0]), null);
+    }
+
+    /**
+     * An object on the traversal stack, and which of its children is being
+     * examined.
+     */
+    static private final class Frame {
+        final Object obj;
+        final Shape shape;
+        int position = -1;
+
+        Frame(final Object obj, final Shape shape) {
+            this.obj = obj;
+            this.shape = shape;
+        }
+
+        boolean advance() {
+            ++position;
+            if (shape.kind == Shape.FIELDS) {
+                return position < shape.fields.length;
+            } else {
+                return position < ((ConstArray<?>) obj).length();
+            }
+        }
+
+        Object child() throws IllegalAccessException {
+            if (shape.kind == Shape.FIELDS) {
+                return shape.fields[position].get(obj);
+            } else {
+                return ((ConstArray<?>) obj).get(position);
+            }
+        }
+
+        void appendLabel(final StringBuilder path) {
+            if (shape.kind == Shape.FIELDS) {
+                path.append('.').append(shape.fields[position].getName());
+            } else {
+                path.append('[').append(position).append(']');
+            }
+        }
+    }
+}
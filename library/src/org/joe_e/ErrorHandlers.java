@@ -0,0 +1,115 @@
+// Copyright 2008 Regents of the University of California.  May be used
+// under the terms of the revised BSD license.  See LICENSING for details.
+package org.joe_e;
+
+/**
+ * The registry of {@link ErrorHandler}s consulted by {@link JoeE#abort}.
+ * A handler installed for the current thread takes precedence over the
+ * JVM-wide default, so that, for example, a server can abort just the request
+ * being processed.
+ * <p>
+ * <code>abort()</code> retries a failing handler a bounded number of times,
+ * sleeping between attempts, and then halts the JVM.  It never returns
+ * control to Joe-E code unless a handler succeeds, as that code may have been
+ * stopped half-way through updating its objects.
+ * <p>
+ * This class is for use by trusted infrastructure (non-Joe-E) code only, and
+ * is deliberately absent from the taming database.
+ */
+public final class ErrorHandlers {
+
+    private ErrorHandlers() {}
+
+    /**
+     * The default number of times a handler is invoked before giving up.
+     */
+    static public final int DEFAULT_ATTEMPTS = 8;
+
+    /**
+     * The longest pause between two attempts, in milliseconds.
+     */
+    static private final long MAX_BACKOFF = 100;
+
+    static private volatile ErrorHandler global = new SystemExit();
+    static private volatile int attempts = DEFAULT_ATTEMPTS;
+    static private final ThreadLocal<ErrorHandler> local =
+        new ThreadLocal<ErrorHandler>();
+
+    /**
+     * Sets the handler used by threads that have not installed their own.
+     * @param handler   the new default handler
+     * @throws NullPointerException <code>handler</code> is <code>null</code>
+     */
+    static public void setDefault(final ErrorHandler handler) {
+        if (handler == null) {
+            throw new NullPointerException();
+        }
+        global = handler;
+    }
+
+    /**
+     * Gets the handler used by threads that have not installed their own.
+     * @return the default handler
+     */
+    static public ErrorHandler getDefault() {
+        return global;
+    }
+
+    /**
+     * Sets the handler for the current thread.
+     * @param handler   the handler, or <code>null</code> to revert to the
+     *                  default handler
+     */
+    static public void setForCurrentThread(final ErrorHandler handler) {
+        if (handler == null) {
+            local.remove();
+        } else {
+            local.set(handler);
+        }
+    }
+
+    /**
+     * Sets the number of times <code>abort()</code> invokes a failing handler
+     * before halting the JVM.
+     * @param n number of attempts
+     * @throws IllegalArgumentException <code>n</code> is less than one
+     */
+    static public void setAttempts(final int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException();
+        }
+        attempts = n;
+    }
+
+    /**
+     * Gets the number of times <code>abort()</code> invokes a failing
+     * handler.
+     * @return number of attempts
+     */
+    static public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * Gets the handler that applies to the current thread.
+     */
+    static ErrorHandler current() {
+        final ErrorHandler h = local.get();
+        return (h != null) ? h : global;
+    }
+
+    /**
+     * Pauses after a failed attempt, doubling the pause each time up to
+     * {@link #MAX_BACKOFF}.  An interrupt ends the pause early and is
+     * preserved for the caller.
+     * @param failures  number of attempts that have failed so far
+     */
+    static void backoff(final int failures) {
+        final long millis = Math.min(MAX_BACKOFF, 1L << Math.min(failures, 7));
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -4,6 +4,9 @@
  * @author Adrian Mettler 
  */
 package org.joe_e;
+import java.util.HashSet;
+
+import org.joe_e.metrics.Metrics;
 import org.joe_e.taming.Policy;
 
 /**
@@ -26,9 +29,78 @@ public class JoeE {
      *  in the overlay type system.
      */
     static public boolean instanceOf(Object obj, Class<?> type) {
+        if (Metrics.ENABLED) {
+            Metrics.count(Metrics.Probe.INSTANCE_OF, type);
+        }
         return obj != null && isSubtypeOf(obj.getClass(), type);
     }
 
+    /**
+     * Tests whether every element of an array belongs to the specified type
+     * in the overlay type system.  This method is equivalent to
+     * <code>allInstanceOf(values, 0, values.length, type)</code>.
+     * 
+     * @param values the objects to test
+     * @param type   the type to test membership of
+     * @return true if every element belongs to the specified type
+     */
+    static public boolean allInstanceOf(final Object[] values, 
+                                        final Class<?> type) {
+        return allInstanceOf(values, 0, values.length, type);
+    }
+
+    /**
+     * Tests whether every element in a range of an array belongs to the
+     * specified type in the overlay type system.  Each distinct runtime
+     * class among the elements is tested only once, so the number of overlay
+     * checks depends on how many classes are present, not on the length of
+     * the range.  As with {@link #instanceOf}, <code>null</code> does not
+     * belong to any type.
+     * 
+     * @param values the array holding the objects to test
+     * @param off    the index of the first object to test
+     * @param len    the number of objects to test
+     * @param type   the type to test membership of
+     * @return true if every element in the range belongs to the specified
+     *  type
+     * @throws IndexOutOfBoundsException if the range is not within
+     *  <code>values</code>
+     */
+    static public boolean allInstanceOf(final Object[] values, final int off,
+                                        final int len, final Class<?> type) {
+        if (off < 0 || len < 0 || off + len < 0 || off + len > values.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        // Arrays are usually homogeneous, so the set of classes already
+        // accepted is only allocated once a second class turns up.
+        Class<?> last = null;
+        HashSet<Class<?>> accepted = null;
+        for (int i = off; i != off + len; ++i) {
+            final Object v = values[i];
+            if (v == null) {
+                return false;
+            }
+            final Class<?> c = v.getClass();
+            if (c == last) {
+                continue;
+            }
+            if (accepted == null || !accepted.contains(c)) {
+                if (!isSubtypeOf(c, type)) {
+                    return false;
+                }
+                if (last != null) {
+                    if (accepted == null) {
+                        accepted = new HashSet<Class<?>>();
+                        accepted.add(last);
+                    }
+                    accepted.add(c);
+                }
+            }
+            last = c;
+        }
+        return true;
+    }
+
     /**
      * Tests whether the first class is a subtype of the second in the overlay
      * type system.  
@@ -49,42 +121,98 @@ public class JoeE {
      * user code, in which case the Joe-E verifier requires D to explicitly
      * implement I (in the Java type system).  In either case, this
      * accounts for all transitive dependencies: in case (1), the call
-     * to honorarilyImplements() take care of transitive subtyping;
+     * to honoraryMask() takes care of transitive subtyping;
      * in case (2), isAssignableFrom() takes care of it.
      */
     static public boolean isSubtypeOf(Class<?> c1, Class<?> c2) {
+        if (Metrics.ENABLED) {
+            Metrics.count(Metrics.Probe.IS_SUBTYPE_OF, c1);
+        }
         if (c2.isAssignableFrom(c1)) {
             return true;
         } else {
-            return Policy.hasHonorary(c1.getName(), c2.getName());
+            final int bit = honoraryBit(c2);
+            if (bit == 0) {
+                return false;
+            }
+            if (Metrics.ENABLED) {
+                Metrics.count(Metrics.Probe.POLICY_HONORARY, c1);
+            }
+            return (Policy.honoraryMask(c1.getName()) & bit) != 0;
         }
     }
     
     /**
-     * This field holds the ErrorHandler to be invoked when 
-     * <code>abort()</code> is called.
-     * Trusted infrastructure (non-Joe-E) code may change the abort behavior 
-     * by using unsafe reflection to modify the value of this field.
+     * Gets the taming policy's bit for a type that may be implemented
+     * honorarily.  Only the marker interfaces can be; for any other type
+     * there is no point in consulting the policy.
+     * @param type the potential supertype
+     * @return the corresponding <code>Policy</code> mask bit, or 0
      */
-    static private ErrorHandler handler = new SystemExit();
+    static private int honoraryBit(final Class<?> type) {
+        if (type == Powerless.class) {
+            return Policy.POWERLESS;
+        } else if (type == Immutable.class) {
+            return Policy.IMMUTABLE;
+        } else if (type == Selfless.class) {
+            return Policy.SELFLESS;
+        } else if (type == Equatable.class) {
+            return Policy.EQUATABLE;
+        } else {
+            return 0;
+        }
+    }
     
     /**
-     * Aborts the current flow of control.  This method invokes the currently
-     * registered error handler, which should preclude continued execution of 
-     * Joe-E code.
+     * Aborts the current flow of control.  This method invokes the error
+     * handler registered for the current thread, or else the default one (see
+     * {@link ErrorHandlers}), which should preclude continued execution of 
+     * Joe-E code.  A handler that fails is retried, with a pause between
+     * attempts.  Once it has failed {@link ErrorHandlers#getAttempts()}
+     * times, the JVM is halted with the exit status {@link SystemExit} would
+     * use; if that is refused, the handler and the halt keep being retried,
+     * with the pause capped.  This method returns only if the handler does.
      * @param reason    reason for the abort
-     * @return an error to throw
+     * @return an error to throw, as returned by the handler
      */
     static public Error abort(final Error reason) {
+        if (Metrics.ENABLED) {
+            countAbort(Metrics.Probe.ABORT,
+                       reason == null ? null : reason.getClass());
+        }
+        final ErrorHandler handler = ErrorHandlers.current();
+        final int attempts = ErrorHandlers.getAttempts();
+        int failures = 0;
         while (true) {
             try {
                 return handler.handle(reason);
             } catch (final Throwable e) {
-                // Keep trying...
+                if (Metrics.ENABLED) {
+                    countAbort(Metrics.Probe.ABORT_RETRY, e.getClass());
+                }
+                if (++failures >= attempts) {
+                    try {
+                        Runtime.getRuntime().halt(SystemExit.status(reason));
+                    } catch (final Throwable halt) {}
+                }
+                ErrorHandlers.backoff(failures);
             }
         }
     }
 
+    /**
+     * Counts an abort, as {@link Metrics#count Metrics.count()} does.  An
+     * abort is often caused by running out of memory or stack, so counting
+     * may itself fail; that failure is dropped rather than let it keep the
+     * handler from running.
+     */
+    static private void countAbort(final Metrics.Probe probe,
+                                   final Class<?> subject) {
+        try {
+            Metrics.count(probe, subject);
+        } catch (final Throwable e) {}
+    }
+
     /**
      * Is the object one-level deep immutable?
      * @param x candidate object
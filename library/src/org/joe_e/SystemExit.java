@@ -9,12 +9,32 @@ import java.io.Serializable;
 
 /**
  * Executes a {@link System#exit} in response to an Error being encountered.
- * The exit status indicates the the type of error.
+ * The exit status indicates the the type of error.  If the exit is refused,
+ * the JVM is halted instead, and if that is refused too, both are retried
+ * with a pause between attempts; the handler never returns.
  */
 final class SystemExit extends Struct implements ErrorHandler, Serializable {
     static private final long serialVersionUID = 1L;
 
     public Error handle(final Error error) {
+        final int status = status(error);
+        for (int failures = 0; true;) {
+            try {
+                System.exit(status);
+            } catch (final Throwable e) {}
+            try {
+                Runtime.getRuntime().halt(status);
+            } catch (final Throwable e) {}
+            ErrorHandlers.backoff(++failures);
+        }
+    }
+
+    /**
+     * Computes the exit status that reports an error.
+     * @param error the error
+     * @return the exit status
+     */
+    static int status(final Error error) {
         int status = 0x80000000;
         
         if (error instanceof VirtualMachineError) {
@@ -34,15 +54,6 @@ final class SystemExit extends Struct implements ErrorHandler, Serializable {
             status |= 0x00030000;
         }
 
-        while (true) {
-            try {
-                System.exit(status);
-                break;
-            } catch (final Throwable e) {
-                // Keep trying...
-            }
-        }
-        return error;   // This statement should never execute, but having it
-                        // here makes the compiler happier.
+        return status;
     }
 }
@@ -413,6 +413,42 @@ public final class ByteArray extends PowerlessArray<Byte> {
            size = newSize;
        }
        
+       /**
+        * Append up to <code>len</code> bytes read from a stream, stopping
+        * early only at the end of the stream.  The bytes are read straight
+        * into the array being built, so a builder created with the exact
+        * size of the stream's contents snapshots them without a copy.
+        * @param in the stream to read from
+        * @param len the most bytes to add
+        * @return the number of bytes added
+        * @throws IndexOutOfBoundsException if <code>len</code> is negative
+        *  or the resulting internal array would exceed the maximum length
+        *  of a Java array.  The builder is unmodified.
+        * @throws IOException if reading fails.  The bytes read so far are
+        *  kept.
+        */
+       public int append(final InputStream in, final int len)
+                                                   throws IOException {
+           final int newSize = size + len;
+           if (newSize < 0 || len < 0) {
+               throw new IndexOutOfBoundsException();
+           }
+           if (newSize > byteBuffer.length) {
+               int newLength = Math.max(newSize, 2 * byteBuffer.length);
+               System.arraycopy(byteBuffer, 0,
+                                byteBuffer = new byte[newLength], 0, size);
+           }
+           final int start = size;
+           while (size != newSize) {
+               final int n = in.read(byteBuffer, size, newSize - size);
+               if (n == -1) {
+                   break;
+               }
+               size += n;
+           }
+           return size - start;
+       }
+       
        /**
         * Convenience method that creates an output stream using this Builder 
         * @return a new output stream that wraps this Builder
@@ -5,8 +5,11 @@
  */
 package org.joe_e.array;
 
+import java.util.Arrays;
+
 import org.joe_e.Immutable;
 import org.joe_e.JoeE;
+import org.joe_e.metrics.Metrics;
 import org.joe_e.reflect.Reflection;
 
 /**
@@ -31,16 +34,19 @@ public class ImmutableArray<E> extends ConstArray<E> implements Immutable {
     /**
      * Construct a <code>ImmutableArray</code>.
      * @param values    each value
-     * @throws ClassCastException if the runtime component type of 
-     *     <code>values</code> is not immutable in the overlay type system
+     * @throws ClassCastException if an element of <code>values</code> is
+     *     not immutable in the overlay type system.  The elements are only
+     *     examined individually if the runtime component type of
+     *     <code>values</code> is not itself immutable.
      */
     static public <T> ImmutableArray<T> array(final T... values) {
         final Class<?> e = values.getClass().getComponentType();
+        final Object[] copy = values.clone();
         if (!JoeE.isSubtypeOf(e, Immutable.class)) {
-            throw new ClassCastException(Reflection.getName(e) +
-                                         " is not Immutable");
+            // Check the copy, as the caller could change the original.
+            checkElements(copy, 0, copy.length, Immutable.class);
         }
-        return new ImmutableArray<T>(values.clone());
+        return new ImmutableArray<T>(copy);
     }
     
     /* 
@@ -59,14 +65,34 @@ public class ImmutableArray<E> extends ConstArray<E> implements Immutable {
      * it WITHOUT a defensive copy
      */
     static private <T> ImmutableArray<T> array2(final Object... values) {
-        for (Object v: values) {
-            Class<?> vType = v.getClass();
-            if (!JoeE.isSubtypeOf(vType, Immutable.class)) {
-                throw new ClassCastException(Reflection.getName(vType) +
-                                             " is not Immutable");
+        checkElements(values, 0, values.length, Immutable.class);
+        return new ImmutableArray<T>(values);
+    }
+
+    /**
+     * Checks that each element in a range of an array belongs to a type in
+     * the overlay type system, examining each distinct class only once.
+     * @param values    the array to check
+     * @param off       the index of the first element to check
+     * @param len       the number of elements to check
+     * @param type      the required type
+     * @throws ClassCastException naming the first element not of
+     *  <code>type</code>
+     */
+    static void checkElements(final Object[] values, final int off,
+                              final int len, final Class<?> type) {
+        if (JoeE.allInstanceOf(values, off, len, type)) {
+            return;
+        }
+        for (int i = off; i != off + len; ++i) {
+            final Object v = values[i];
+            if (!JoeE.instanceOf(v, type)) {
+                final String name = (v == null) ? "null" 
+                                    : Reflection.getName(v.getClass());
+                throw new ClassCastException(name + " is not " +
+                                             type.getSimpleName());
             }
         }
-        return new ImmutableArray<T>(values);
     }
 
     /**
@@ -172,6 +198,10 @@ public class ImmutableArray<E> extends ConstArray<E> implements Immutable {
          *  unmodified.
          */
          public void append(E newE) {
+            if (Metrics.ENABLED) {
+                Metrics.count(Metrics.Probe.BUILDER_APPEND, 
+                              newE == null ? null : newE.getClass());
+            }
             if (!JoeE.instanceOf(newE, Immutable.class)) {
                 throw new ClassCastException(Reflection.getName(newE.getClass())
                                              + "is not Immutable");
@@ -204,6 +234,9 @@ public class ImmutableArray<E> extends ConstArray<E> implements Immutable {
          */
         public void append(E[] newEs, int off, int len) {
             final Class<?> e = newEs.getClass().getComponentType();
+            if (Metrics.ENABLED) {
+                Metrics.count(Metrics.Probe.BUILDER_APPEND, e);
+            }
             if (!JoeE.isSubtypeOf(e, Immutable.class)) {
                 throw new ClassCastException(Reflection.getName(e) + 
                                              " is not Immutable");
@@ -212,6 +245,63 @@ public class ImmutableArray<E> extends ConstArray<E> implements Immutable {
             appendInternal(newEs, off, len);
         }
         
+        /** 
+         * Appends all elements from a Java array to the Array, checking the
+         * elements rather than just the array's component type.  This method
+         * is equivalent to <code>appendElements(newEs, 0, newEs.length)</code>.
+         * @param newEs the elements to append
+         * @throws ClassCastException if an element of <code>newEs</code> is
+         *  not immutable.  The builder is unmodified.
+         * @throws IndexOutOfBoundsException if the resulting internal array
+         *  would exceed the maximum length of a Java array.  The builder is
+         *  unmodified.
+         */
+        public void appendElements(E[] newEs) {
+            appendElements(newEs, 0, newEs.length);
+        }
+
+        /** 
+         * Appends a range of elements from a Java array to the Array.  Unlike
+         * {@link #append(Object[], int, int)}, this accepts an array whose
+         * runtime component type is not immutable, such as an
+         * <code>Object[]</code>, provided that each element in the range is.
+         * Each distinct class among the elements is checked only once.
+         * @param newEs the source array
+         * @param off   the index of the first element to append
+         * @param len   the number of elements to append
+         * @throws ClassCastException if an element in the range is not
+         *  immutable.  The builder is unmodified.
+         * @throws IndexOutOfBoundsException if an out-of-bounds index would
+         *  be referenced or the resulting internal array would exceed the
+         *  maximum length of a Java array.  The builder is unmodified.
+         */
+        public void appendElements(E[] newEs, int off, int len) {
+            appendChecked(newEs, off, len, Immutable.class);
+        }
+        
+        final void appendChecked(E[] newEs, int off, int len, Class<?> type) {
+            final Class<?> e = newEs.getClass().getComponentType();
+            if (Metrics.ENABLED) {
+                Metrics.count(Metrics.Probe.BUILDER_APPEND, e);
+            }
+            if (JoeE.isSubtypeOf(e, type)) {
+                appendInternal(newEs, off, len);
+                return;
+            }
+            
+            // Check the elements once they are in the buffer, as the caller
+            // could change the original array.
+            final int oldSize = size;
+            appendInternal(newEs, off, len);
+            try {
+                checkElements(buffer, oldSize, len, type);
+            } catch (final ClassCastException cce) {
+                Arrays.fill(buffer, oldSize, size, null);
+                size = oldSize;
+                throw cce;
+            }
+        }
+        
         /**
          * Create a snapshot of the current content.
          * @return an <code>ImmutableArray<E></code> containing the elements so far
@@ -7,6 +7,7 @@ package org.joe_e.array;
 
 import org.joe_e.JoeE;
 import org.joe_e.Powerless;
+import org.joe_e.metrics.Metrics;
 import org.joe_e.reflect.Reflection;
 
 /**
@@ -30,16 +31,19 @@ public class PowerlessArray<E> extends ImmutableArray<E> implements Powerless {
     /**
      * Construct a <code>PowerlessArray</code>.  The type will be 
      * @param values    each value, or an array of values
-     * @throws ClassCastException if the runtime component type of 
-     *     <code>values</code> is not powerless in the overlay type system
+     * @throws ClassCastException if an element of <code>values</code> is
+     *     not powerless in the overlay type system.  The elements are only
+     *     examined individually if the runtime component type of
+     *     <code>values</code> is not itself powerless.
      */
     static public <T> PowerlessArray<T> array(final T... values) {
         final Class<?> e = values.getClass().getComponentType();
+        final Object[] copy = values.clone();
         if (!JoeE.isSubtypeOf(e, Powerless.class)) {
-            throw new ClassCastException(Reflection.getName(e) + 
-                                         " is not Powerless");
+            // Check the copy, as the caller could change the original.
+            checkElements(copy, 0, copy.length, Powerless.class);
         }
-        return new PowerlessArray<T>(values.clone());
+        return new PowerlessArray<T>(copy);
     }
     
     /* 
@@ -58,13 +62,7 @@ public class PowerlessArray<E> extends ImmutableArray<E> implements Powerless {
      * it WITHOUT a defensive copy
      */
     static private <T> PowerlessArray<T> array2(final Object... values) {
-        for (Object v: values) {
-            Class<?> vType = v.getClass();
-            if (!JoeE.isSubtypeOf(vType, Powerless.class)) {
-                throw new ClassCastException(Reflection.getName(vType) +
-                                             " is not Powerless");
-            }
-        }
+        checkElements(values, 0, values.length, Powerless.class);
         return new PowerlessArray<T>(values);
     }
 
@@ -170,6 +168,10 @@ public class PowerlessArray<E> extends ImmutableArray<E> implements Powerless {
          *  unmodified.
          */
          public void append(E newE) {
+            if (Metrics.ENABLED) {
+                Metrics.count(Metrics.Probe.BUILDER_APPEND, 
+                              newE == null ? null : newE.getClass());
+            }
             if (!JoeE.instanceOf(newE, Powerless.class)) {
                 throw new ClassCastException(Reflection.getName(newE.getClass())
                                              + "is not Powerless");
@@ -203,6 +205,9 @@ public class PowerlessArray<E> extends ImmutableArray<E> implements Powerless {
          */
         public void append(E[] newEs, int off, int len) {
             final Class<?> e = newEs.getClass().getComponentType();
+            if (Metrics.ENABLED) {
+                Metrics.count(Metrics.Probe.BUILDER_APPEND, e);
+            }
             if (!JoeE.isSubtypeOf(e, Powerless.class)) {
                 throw new ClassCastException(Reflection.getName(e) +
                                              " is not Powerless");
@@ -211,6 +216,25 @@ public class PowerlessArray<E> extends ImmutableArray<E> implements Powerless {
             appendInternal(newEs, off, len);
         }
         
+        /** 
+         * Appends a range of elements from a Java array to the Array.  Unlike
+         * {@link #append(Object[], int, int)}, this accepts an array whose
+         * runtime component type is not powerless, such as an
+         * <code>Object[]</code>, provided that each element in the range is.
+         * Each distinct class among the elements is checked only once.
+         * @param newEs the source array
+         * @param off   the index of the first element to append
+         * @param len   the number of elements to append
+         * @throws ClassCastException if an element in the range is not
+         *  powerless.  The builder is unmodified.
+         * @throws IndexOutOfBoundsException if an out-of-bounds index would
+         *  be referenced or the resulting internal array would exceed the
+         *  maximum length of a Java array.  The builder is unmodified.
+         */
+        public void appendElements(E[] newEs, int off, int len) {
+            appendChecked(newEs, off, len, Powerless.class);
+        }
+        
         /**
          * Create a snapshot of the current content.
          * @return a <code>PowerlesstArray<E></code> containing the elements so far
@@ -5,18 +5,23 @@ package org.joe_e.charset;
 import java.nio.charset.Charset;
 import java.nio.ByteBuffer;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
 
+import org.joe_e.array.CharArray;
+
 /**
  * ASCII I/O.
  */
 public final class ASCII {
     private static final Charset charset = Charset.forName("US-ASCII");
     
+    /**
+     * The character substituted for bytes outside the US-ASCII range.
+     */
+    static private final char REPLACEMENT = '\uFFFD';
+    
     private ASCII() {}
 
     /**
@@ -60,19 +65,119 @@ public final class ASCII {
     }
         
     /**
-     * Constructs an ASCII reader.
+     * An incremental US-ASCII decoder, with the same interface as
+     * {@link UTF8.Decoder}.  Every ASCII character is a single byte, so
+     * nothing is ever held over from one piece of input to the next, and
+     * each byte not corresponding to a US-ASCII character decodes to the
+     * Unicode replacement character U+FFFD.
+     */
+    static public final class Decoder {
+        
+        /**
+         * Constructs a decoder.
+         */
+        public Decoder() {}
+        
+        /**
+         * Is the input so far in the middle of a sequence?
+         * @return <code>false</code>
+         */
+        public boolean isPending() {
+            return false;
+        }
+        
+        /**
+         * Does nothing, as there is never a partial sequence to discard.
+         */
+        public void reset() {}
+        
+        /**
+         * Decodes the next piece of input.
+         * @param in    the input
+         * @param off   where to start decoding
+         * @param len   how many bytes to decode
+         * @param out   where to append the decoded characters
+         * @throws java.lang.IndexOutOfBoundsException
+         */
+        public void decode(final byte[] in, final int off, final int len,
+                           final StringBuilder out) {
+            check(in, off, len);
+            out.ensureCapacity(out.length() + len);
+            for (int i = off, end = off + len; i != end; ++i) {
+                final byte b = in[i];
+                out.append(b >= 0 ? (char) b : REPLACEMENT);
+            }
+        }
+        
+        /**
+         * Decodes the next piece of input.
+         * @param in    the input
+         * @param off   where to start decoding
+         * @param len   how many bytes to decode
+         * @param out   where to append the decoded characters
+         * @throws java.lang.IndexOutOfBoundsException
+         */
+        public void decode(final byte[] in, final int off, final int len,
+                           final CharArray.Builder out) {
+            check(in, off, len);
+            for (int i = off, end = off + len; i != end; ++i) {
+                final byte b = in[i];
+                out.append(b >= 0 ? (char) b : REPLACEMENT);
+            }
+        }
+        
+        /**
+         * Decodes the remaining bytes of a buffer, advancing its position to
+         * its limit.
+         * @param in    the input
+         * @param out   where to append the decoded characters
+         */
+        public void decode(final ByteBuffer in, final StringBuilder out) {
+            out.ensureCapacity(out.length() + in.remaining());
+            while (in.hasRemaining()) {
+                final byte b = in.get();
+                out.append(b >= 0 ? (char) b : REPLACEMENT);
+            }
+        }
+        
+        /**
+         * Ends the input.  This appends nothing.
+         * @param out   where the replacement for a partial sequence would be
+         *              appended
+         */
+        public void finish(final StringBuilder out) {}
+        
+        /**
+         * Ends the input.  This appends nothing.
+         * @param out   where the replacement for a partial sequence would be
+         *              appended
+         */
+        public void finish(final CharArray.Builder out) {}
+        
+        static private void check(final byte[] in, final int off,
+                                  final int len) {
+            if (off < 0 || len < 0 || off + len < 0 || off + len > in.length) {
+                throw new IndexOutOfBoundsException();
+            }
+        }
+    }
+        
+    /**
+     * Constructs an ASCII reader.  The decoder it uses is returned to a
+     * per-thread pool when the reader is closed.
      * @param in    The binary input stream
      * @return  the ASCII character reader.
      */
     static public Reader input(final InputStream in) {
-        return new InputStreamReader(in, charset);
+        return new DecodingReader(in, CoderPool.ASCII);
     }
 
     /**
-     * Constructs an ASCII writer.
+     * Constructs an ASCII writer.  The encoder it uses is returned to a
+     * per-thread pool when the writer is closed.
      * @param out the output stream.
      */
     static public Writer output(final OutputStream out) {
-        return new OutputStreamWriter(out, charset);
+        return new EncodingWriter(out, CoderPool.ASCII);
     }
 }
@@ -0,0 +1,103 @@
+// Copyright 2008 Regents of the University of California.  May be used
+// under the terms of the revised BSD license.  See LICENSING for details.
+package org.joe_e.charset;
+
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+
+/**
+ * Per-thread free lists of charset coders.  Creating a coder costs more than
+ * a typical short-lived reader or writer does with it, so
+ * {@link DecodingReader} and {@link EncodingWriter} take their coders from
+ * here and give them back when closed.  A coder is reset before it is handed
+ * out again, so nothing passes from one stream to the next.  Only the coders
+ * are pooled: each stream has its own byte buffer, since the buffer's array
+ * is handed to the stream's caller-supplied byte stream, which may keep it.
+ */
+final class CoderPool {
+    /**
+     * Most coders of each kind kept per thread.
+     */
+    static private final int LIMIT = 4;
+
+    /**
+     * Size of the byte buffer each stream uses with its coder.
+     */
+    static final int BUFFER_SIZE = 8192;
+
+    static final CoderPool UTF8 = new CoderPool(Charset.forName("UTF-8"));
+    static final CoderPool ASCII = new CoderPool(Charset.forName("US-ASCII"));
+
+    private final Charset charset;
+    private final ThreadLocal<ArrayList<CharsetDecoder>> decoders =
+        new ThreadLocal<ArrayList<CharsetDecoder>>() {
+            protected ArrayList<CharsetDecoder> initialValue() {
+                return new ArrayList<CharsetDecoder>(LIMIT);
+            }
+        };
+    private final ThreadLocal<ArrayList<CharsetEncoder>> encoders =
+        new ThreadLocal<ArrayList<CharsetEncoder>>() {
+            protected ArrayList<CharsetEncoder> initialValue() {
+                return new ArrayList<CharsetEncoder>(LIMIT);
+            }
+        };
+
+    private CoderPool(final Charset charset) {
+        this.charset = charset;
+    }
+
+    /**
+     * Takes a decoder, creating one if none is free.
+     * @return a decoder in its initial state
+     */
+    CharsetDecoder takeDecoder() {
+        final ArrayList<CharsetDecoder> free = decoders.get();
+        if (free.isEmpty()) {
+            return charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+        return free.remove(free.size() - 1);
+    }
+
+    /**
+     * Gives back a decoder that is no longer used.
+     * @param d the decoder
+     */
+    void give(final CharsetDecoder d) {
+        final ArrayList<CharsetDecoder> free = decoders.get();
+        if (free.size() < LIMIT) {
+            d.reset();
+            free.add(d);
+        }
+    }
+
+    /**
+     * Takes an encoder, creating one if none is free.
+     * @return an encoder in its initial state
+     */
+    CharsetEncoder takeEncoder() {
+        final ArrayList<CharsetEncoder> free = encoders.get();
+        if (free.isEmpty()) {
+            return charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+        return free.remove(free.size() - 1);
+    }
+
+    /**
+     * Gives back an encoder that is no longer used.
+     * @param e the encoder
+     */
+    void give(final CharsetEncoder e) {
+        final ArrayList<CharsetEncoder> free = encoders.get();
+        if (free.size() < LIMIT) {
+            e.reset();
+            free.add(e);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+// Copyright 2008 Regents of the University of California.  May be used
+// under the terms of the revised BSD license.  See LICENSING for details.
+package org.joe_e.charset;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+
+/**
+ * A reader that decodes a byte stream with a pooled decoder.  Like
+ * <code>InputStreamReader</code>, each malformed input sequence decodes to
+ * U+FFFD.  Closing the reader closes the stream and releases the decoder.
+ */
+final class DecodingReader extends Reader {
+    private final InputStream in;
+    private final CoderPool pool;
+    private CharsetDecoder decoder;     // null once closed
+    private final ByteBuffer bytes = ByteBuffer.allocate(CoderPool.BUFFER_SIZE);
+    private boolean eof;                // Has the stream ended?
+    private boolean flushed;            // Has the decoder been flushed?
+    private int leftover = -1;          // second half of a split pair
+    private final char[] pair = new char[2];
+
+    DecodingReader(final InputStream in, final CoderPool pool) {
+        this.in = in;
+        this.pool = pool;
+        decoder = pool.takeDecoder();
+        bytes.flip();
+    }
+
+    public int read(final char[] cbuf, final int off, final int len)
+                                                    throws IOException {
+        synchronized (lock) {
+            if (decoder == null) {
+                throw new IOException("Stream closed");
+            }
+            if (off < 0 || len < 0 || off + len < 0 || off + len > cbuf.length) {
+                throw new IndexOutOfBoundsException();
+            }
+            if (len == 0) {
+                return 0;
+            }
+            if (leftover != -1) {
+                cbuf[off] = (char) leftover;
+                leftover = -1;
+                return 1;
+            }
+            if (len != 1) {
+                return fill(cbuf, off, len);
+            }
+            // A surrogate pair cannot be decoded into a single char.
+            final int n = fill(pair, 0, 2);
+            if (n == -1) {
+                return -1;
+            }
+            cbuf[off] = pair[0];
+            if (n == 2) {
+                leftover = pair[1];
+            }
+            return 1;
+        }
+    }
+
+    /**
+     * Decodes into room for at least two chars, reading from the stream
+     * only when nothing has been decoded yet.
+     * @return the number of chars decoded, or -1 at the end of the stream
+     */
+    private int fill(final char[] cbuf, final int off, final int len)
+                                                    throws IOException {
+        final CharBuffer out = CharBuffer.wrap(cbuf, off, len);
+        for (;;) {
+            if (!flushed) {
+                final CoderResult r = decoder.decode(bytes, out, eof);
+                if (eof && r.isUnderflow()) {
+                    decoder.flush(out);
+                    flushed = true;
+                }
+            }
+            if (out.position() != off) {
+                return out.position() - off;
+            }
+            if (flushed) {
+                return -1;
+            }
+            bytes.compact();
+            final int n = in.read(bytes.array(),
+                                  bytes.arrayOffset() + bytes.position(),
+                                  bytes.remaining());
+            if (n < 0) {
+                eof = true;
+            } else {
+                bytes.position(bytes.position() + n);
+            }
+            bytes.flip();
+        }
+    }
+
+    public boolean ready() throws IOException {
+        synchronized (lock) {
+            if (decoder == null) {
+                throw new IOException("Stream closed");
+            }
+            return leftover != -1 || bytes.hasRemaining() ||
+                   in.available() > 0;
+        }
+    }
+
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (decoder == null) {
+                return;
+            }
+            final CharsetDecoder d = decoder;
+            decoder = null;
+            try {
+                in.close();
+            } finally {
+                pool.give(d);
+            }
+        }
+    }
+}
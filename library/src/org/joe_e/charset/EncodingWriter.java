@@ -0,0 +1,122 @@
+// Copyright 2008 Regents of the University of California.  May be used
+// under the terms of the revised BSD license.  See LICENSING for details.
+package org.joe_e.charset;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+
+/**
+ * A writer that encodes onto a byte stream with a pooled encoder.  Like
+ * <code>OutputStreamWriter</code>, output is buffered until the buffer fills
+ * or the writer is flushed, and each character that cannot be encoded is
+ * written as <code>'?'</code>.  Closing the writer flushes and closes the
+ * stream and releases the encoder.
+ */
+final class EncodingWriter extends Writer {
+    private final OutputStream out;
+    private final CoderPool pool;
+    private CharsetEncoder encoder;     // null once closed
+    private final ByteBuffer bytes = ByteBuffer.allocate(CoderPool.BUFFER_SIZE);
+    private int leftover = -1;          // high surrogate ending last write
+    private final char[] pair = new char[2];
+
+    EncodingWriter(final OutputStream out, final CoderPool pool) {
+        this.out = out;
+        this.pool = pool;
+        encoder = pool.takeEncoder();
+    }
+
+    public void write(final char[] cbuf, final int off, final int len)
+                                                    throws IOException {
+        synchronized (lock) {
+            if (encoder == null) {
+                throw new IOException("Stream closed");
+            }
+            if (off < 0 || len < 0 || off + len < 0 || off + len > cbuf.length) {
+                throw new IndexOutOfBoundsException();
+            }
+            final CharBuffer in = CharBuffer.wrap(cbuf, off, len);
+            while (leftover != -1 && in.hasRemaining()) {
+                pair[0] = (char) leftover;
+                pair[1] = in.get();
+                leftover = -1;
+                encode(CharBuffer.wrap(pair), false);
+            }
+            encode(in, false);
+        }
+    }
+
+    /**
+     * Encodes chars into the buffer, writing it out whenever it fills.  A
+     * high surrogate at the end of the input is held back until the next
+     * write, or until the writer is closed.
+     */
+    private void encode(final CharBuffer in, final boolean end)
+                                                    throws IOException {
+        for (;;) {
+            final CoderResult r = encoder.encode(in, bytes, end);
+            if (r.isOverflow()) {
+                drain();
+            } else {
+                break;
+            }
+        }
+        if (in.hasRemaining()) {
+            leftover = in.get();
+        }
+    }
+
+    /**
+     * Writes out the buffered bytes.
+     */
+    private void drain() throws IOException {
+        if (bytes.position() != 0) {
+            out.write(bytes.array(), bytes.arrayOffset(), bytes.position());
+            bytes.clear();
+        }
+    }
+
+    public void flush() throws IOException {
+        synchronized (lock) {
+            if (encoder == null) {
+                throw new IOException("Stream closed");
+            }
+            drain();
+            out.flush();
+        }
+    }
+
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (encoder == null) {
+                return;
+            }
+            try {
+                final CharBuffer rest = CharBuffer.allocate(1);
+                if (leftover != -1) {
+                    rest.put((char) leftover);
+                    leftover = -1;
+                }
+                rest.flip();
+                encode(rest, true);
+                while (encoder.flush(bytes).isOverflow()) {
+                    drain();
+                }
+                drain();
+            } finally {
+                final CharsetEncoder e = encoder;
+                encoder = null;
+                try {
+                    out.close();
+                } finally {
+                    pool.give(e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+// Copyright 2008 Regents of the University of California.  May be used
+// under the terms of the revised BSD license.  See LICENSING for details.
+package org.joe_e.charset;
+
+import org.joe_e.Powerless;
+import org.joe_e.array.PowerlessArray;
+
+/**
+ * The decoded parameters of a query string or form body, in the order they
+ * appear.  A name may occur more than once, each time with its own value.
+ * Obtained from {@link URLEncoding#parse URLEncoding.parse()}; being
+ * immutable, one instance can be shared by all the code handling a request.
+ */
+public final class Parameters implements Powerless {
+    private final PowerlessArray<String> names;
+    private final PowerlessArray<String> values;
+
+    Parameters(final PowerlessArray<String> names,
+               final PowerlessArray<String> values) {
+        this.names = names;
+        this.values = values;
+    }
+
+    /**
+     * Gets the number of parameters.
+     * @return the number of name-value pairs
+     */
+    public int length() {
+        return names.length();
+    }
+
+    /**
+     * Gets the name of a parameter.
+     * @param i position of the parameter
+     * @return the decoded name
+     * @throws ArrayIndexOutOfBoundsException   <code>i</code> is out of range
+     */
+    public String getName(final int i) {
+        return names.get(i);
+    }
+
+    /**
+     * Gets the value of a parameter.
+     * @param i position of the parameter
+     * @return the decoded value
+     * @throws ArrayIndexOutOfBoundsException   <code>i</code> is out of range
+     */
+    public String getValue(final int i) {
+        return values.get(i);
+    }
+
+    /**
+     * Gets the names of all the parameters, in order.
+     * @return each name, including any repeats
+     */
+    public PowerlessArray<String> getNames() {
+        return names;
+    }
+
+    /**
+     * Gets the values of all the parameters, in order.
+     * @return each value, at the same position as its name
+     */
+    public PowerlessArray<String> getValues() {
+        return values;
+    }
+
+    /**
+     * Gets the first value of a named parameter.
+     * @param name  the parameter name
+     * @return the first value, or <code>null</code> if there is none
+     */
+    public String get(final String name) {
+        final int n = names.length();
+        for (int i = 0; i != n; ++i) {
+            if (names.get(i).equals(name)) {
+                return values.get(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets all the values of a named parameter.
+     * @param name  the parameter name
+     * @return each value, in order
+     */
+    public PowerlessArray<String> getAll(final String name) {
+        final int n = names.length();
+        int count = 0;
+        for (int i = 0; i != n; ++i) {
+            if (names.get(i).equals(name)) {
+                ++count;
+            }
+        }
+        final String[] r = new String[count];
+        for (int i = 0, j = 0; j != count; ++i) {
+            if (names.get(i).equals(name)) {
+                r[j++] = values.get(i);
+            }
+        }
+        return PowerlessArray.array(r);
+    }
+
+    /**
+     * Encodes the parameters as a query string.
+     * @return the query string, without a leading <code>'?'</code>
+     */
+    public String toString() {
+        final StringBuilder r = new StringBuilder();
+        final int n = names.length();
+        for (int i = 0; i != n; ++i) {
+            if (i != 0) {
+                r.append('&');
+            }
+            r.append(URLEncoding.encode(names.get(i)));
+            r.append('=');
+            r.append(URLEncoding.encode(values.get(i)));
+        }
+        return r.toString();
+    }
+}
@@ -1,44 +1,424 @@
-// Copyright 2006-2007 Regents of the University of California.  May be used 
+// Copyright 2006-2007 Regents of the University of California.  May be used
 // under the terms of the revised BSD license.  See LICENSING for details.
 package org.joe_e.charset;
 
-import java.net.URLEncoder;
-import java.net.URLDecoder;
-import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.joe_e.array.ByteArray;
+import org.joe_e.array.CharArray;
+import org.joe_e.array.PowerlessArray;
 
 /**
- * Class for converting strings to and from the 
+ * Class for converting strings to and from the
  * <code>application/x-www-form-urlencoded</code> MIME format used for HTML
  * forms.  Uses the UTF-8 character encoding, as specified by W3C.  This class
- * contains static methods for converting strings between human-readable text 
+ * contains static methods for converting strings between human-readable text
  * form and its corresponding encoding.
+ * <p>
+ * The conversions give the same results as <code>java.net.URLEncoder</code>
+ * and <code>URLDecoder</code> with the UTF-8 encoding, but are table-driven,
+ * and return a string unchanged when there is nothing to convert.  Unlike
+ * <code>URLDecoder</code>, which accepts a sign or a non-ASCII digit in an
+ * escape, decoding requires each escape to be two ASCII hexadecimal digits.
  */
 public class URLEncoding {
+    /**
+     * Which ASCII characters stand for themselves in the encoding.
+     */
+    static private final boolean[] UNRESERVED = new boolean[0x80];
+
+    /**
+     * The value of each ASCII hexadecimal digit, or -1.
+     */
+    static private final byte[] HEX_VALUE = new byte[0x80];
+
+    static private final char[] HEX_DIGIT = "0123456789ABCDEF".toCharArray();
+
+    static {
+        for (char c = 'a'; c <= 'z'; ++c) {
+            UNRESERVED[c] = true;
+            UNRESERVED[c - 'a' + 'A'] = true;
+        }
+        for (char c = '0'; c <= '9'; ++c) {
+            UNRESERVED[c] = true;
+        }
+        UNRESERVED['.'] = true;
+        UNRESERVED['-'] = true;
+        UNRESERVED['*'] = true;
+        UNRESERVED['_'] = true;
+
+        Arrays.fill(HEX_VALUE, (byte) -1);
+        for (int i = 0; i != 16; ++i) {
+            HEX_VALUE[HEX_DIGIT[i]] = (byte) i;
+            HEX_VALUE[Character.toLowerCase(HEX_DIGIT[i])] = (byte) i;
+        }
+    }
+
     private URLEncoding() {}
-    
+
     /**
      * URL encode a value.
      * @param value The value to encode.
-     * @return The encoded URL segment.
+     * @return The encoded URL segment.  This is <code>value</code> itself if
+     *         it contains only characters that stand for themselves.
      */
     static public String encode(final String value) {
-        try {
-            return URLEncoder.encode(value, "UTF-8");
-        } catch (UnsupportedEncodingException e) {
-            throw new AssertionError("UTF-8 encoding not supported"); // Should never happen
+        return encode((CharSequence) value);
+    }
+
+    /**
+     * URL encode a value.
+     * @param value The value to encode.
+     * @return The encoded URL segment.
+     */
+    static public String encode(final CharArray value) {
+        return encode(new Chars(value, 0, value.length()));
+    }
+
+    /**
+     * URL encode a sequence of bytes, such as text already encoded in some
+     * character encoding.  Each byte is encoded as the character with the
+     * same value would be, were it ASCII.
+     * @param value The bytes to encode.
+     * @return The encoded URL segment.
+     */
+    static public String encode(final ByteArray value) {
+        final int n = value.length();
+        final StringBuilder r = new StringBuilder(n);
+        for (int i = 0; i != n; ++i) {
+            final byte b = value.getByte(i);
+            if (b >= 0 && UNRESERVED[b]) {
+                r.append((char) b);
+            } else if (b == ' ') {
+                r.append('+');
+            } else {
+                escape(r, b);
+            }
+        }
+        return r.toString();
+    }
+
+    static private String encode(final CharSequence text) {
+        final int n = text.length();
+        int i = 0;
+        while (i != n) {
+            final char c = text.charAt(i);
+            if (c >= 0x80 || !UNRESERVED[c]) {
+                break;
+            }
+            ++i;
+        }
+        if (i == n) {
+            return text.toString();
+        }
+        final StringBuilder r = new StringBuilder(n + 16);
+        r.append(text, 0, i);
+        for (; i != n; ++i) {
+            final char c = text.charAt(i);
+            if (c < 0x80) {
+                if (UNRESERVED[c]) {
+                    r.append(c);
+                } else if (c == ' ') {
+                    r.append('+');
+                } else {
+                    escape(r, c);
+                }
+                continue;
+            }
+            final int cp = UTF8.codePoint(text, i, n);
+            if (cp < 0x80) {                        // an unpaired surrogate
+                escape(r, cp);
+            } else if (cp < 0x800) {
+                escape(r, 0xC0 | cp >> 6);
+                escape(r, 0x80 | cp & 0x3F);
+            } else if (cp < 0x10000) {
+                escape(r, 0xE0 | cp >> 12);
+                escape(r, 0x80 | cp >> 6 & 0x3F);
+                escape(r, 0x80 | cp & 0x3F);
+            } else {
+                escape(r, 0xF0 | cp >> 18);
+                escape(r, 0x80 | cp >> 12 & 0x3F);
+                escape(r, 0x80 | cp >> 6 & 0x3F);
+                escape(r, 0x80 | cp & 0x3F);
+                ++i;
+            }
         }
+        return r.toString();
+    }
+
+    static private void escape(final StringBuilder out, final int b) {
+        out.append('%');
+        out.append(HEX_DIGIT[b >> 4 & 0xF]);
+        out.append(HEX_DIGIT[b & 0xF]);
     }
 
     /**
      * URL decode a segment.
      * @param segment   The segment to decode.
-     * @return The decoded value.
+     * @return The decoded value.  This is <code>segment</code> itself if it
+     *         contains no <code>'%'</code> or <code>'+'</code>.
+     * @throws IllegalArgumentException <code>segment</code> contains a
+     *                                  malformed <code>'%'</code> escape
      */
     static public String decode(final String segment) {
-        try {
-            return URLDecoder.decode(segment, "UTF-8");
-        } catch (final UnsupportedEncodingException e) {
-            throw new AssertionError("UTF-8 encoding not supported"); // Should never happen
+        return decode(segment, 0, segment.length());
+    }
+
+    /**
+     * URL decode a segment.
+     * @param segment   The segment to decode.
+     * @return The decoded value.
+     * @throws IllegalArgumentException <code>segment</code> contains a
+     *                                  malformed <code>'%'</code> escape
+     */
+    static public String decode(final CharArray segment) {
+        return decode(new Chars(segment, 0, segment.length()), 0,
+                      segment.length());
+    }
+
+    /**
+     * URL decode a segment held as ASCII bytes, such as part of a request
+     * body.  Any byte outside of ASCII is decoded as part of the UTF-8
+     * text, as if it had been escaped.
+     * @param segment   The segment to decode.
+     * @return The decoded value.
+     * @throws IllegalArgumentException <code>segment</code> contains a
+     *                                  malformed <code>'%'</code> escape
+     */
+    static public String decode(final ByteArray segment) {
+        return decode(segment, 0, segment.length());
+    }
+
+    /**
+     * Decodes part of a segment held as bytes.
+     */
+    static private String decode(final ByteArray segment, final int from,
+                                 final int to) {
+        final byte[] bytes = new byte[to - from];
+        int len = 0;
+        boolean ascii = true;
+        for (int i = from; i != to; ++i) {
+            int b = segment.getByte(i);
+            if (b == '%') {
+                if (i + 3 > to) {
+                    throw incomplete();
+                }
+                b = (byte) unescape(segment.getByte(i + 1),
+                                    segment.getByte(i + 2));
+                i += 2;
+            } else if (b == '+') {
+                b = ' ';
+            }
+            bytes[len++] = (byte) b;
+            ascii &= b >= 0;
+        }
+        if (!ascii) {
+            return UTF8.decode(bytes, 0, len);
+        }
+        final char[] chars = new char[len];
+        for (int i = 0; i != len; ++i) {
+            chars[i] = (char) bytes[i];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Decodes part of a segment.  Each run of escapes is decoded as one
+     * piece of UTF-8 text, as <code>URLDecoder</code> does.
+     */
+    static private String decode(final CharSequence text, final int from,
+                                 final int to) {
+        int i = from;
+        while (i != to) {
+            final char c = text.charAt(i);
+            if (c == '%' || c == '+') {
+                break;
+            }
+            ++i;
+        }
+        if (i == to) {
+            return text.subSequence(from, to).toString();
+        }
+        final StringBuilder r = new StringBuilder(to - from);
+        r.append(text, from, i);
+        byte[] bytes = null;
+        UTF8.Decoder decoder = null;
+        while (i != to) {
+            final char c = text.charAt(i);
+            if (c == '+') {
+                r.append(' ');
+                ++i;
+            } else if (c != '%') {
+                r.append(c);
+                ++i;
+            } else {
+                if (bytes == null) {
+                    // Each escaped byte takes three chars.
+                    bytes = new byte[(to - i) / 3];
+                    decoder = new UTF8.Decoder();
+                }
+                int n = 0;
+                do {
+                    if (i + 3 > to) {
+                        throw incomplete();
+                    }
+                    bytes[n++] = (byte) unescape(text.charAt(i + 1),
+                                                 text.charAt(i + 2));
+                    i += 3;
+                } while (i != to && text.charAt(i) == '%');
+                decoder.decode(bytes, 0, n, r);
+                decoder.finish(r);
+            }
+        }
+        return r.toString();
+    }
+
+    /**
+     * Gets the byte value of an escape.
+     * @param hi    the first digit
+     * @param lo    the second digit
+     * @throws IllegalArgumentException a digit is not hexadecimal
+     */
+    static private int unescape(final int hi, final int lo) {
+        final int h = hi >= 0 && hi < 0x80 ? HEX_VALUE[hi] : -1;
+        final int l = lo >= 0 && lo < 0x80 ? HEX_VALUE[lo] : -1;
+        if (h < 0 || l < 0) {
+            throw new IllegalArgumentException(
+                "illegal hex characters in escape (%) pattern");
+        }
+        return h << 4 | l;
+    }
+
+    static private IllegalArgumentException incomplete() {
+        return new IllegalArgumentException(
+            "incomplete trailing escape (%) pattern");
+    }
+
+    /**
+     * Parses a query string, such as the part of a URL after the
+     * <code>'?'</code>, into its parameters.  Parameters are separated by
+     * <code>'&amp;'</code>, and each name is separated from its value by the
+     * first <code>'='</code>.  A parameter with no <code>'='</code> has the
+     * empty string as its value, and empty parameters are ignored.  The
+     * names and values are decoded as they are found, without first
+     * splitting the query into substrings.
+     * @param query the query string, without the leading <code>'?'</code>
+     * @return the parameters, in the order they appear
+     * @throws IllegalArgumentException <code>query</code> contains a
+     *                                  malformed <code>'%'</code> escape
+     */
+    static public Parameters parse(final String query) {
+        final ArrayList<String> names = new ArrayList<String>();
+        final ArrayList<String> values = new ArrayList<String>();
+        final int n = query.length();
+        for (int start = 0; start < n;) {
+            int end = start;
+            int eq = -1;
+            for (; end != n; ++end) {
+                final char c = query.charAt(end);
+                if (c == '&') {
+                    break;
+                }
+                if (c == '=' && eq == -1) {
+                    eq = end;
+                }
+            }
+            if (end != start) {
+                if (eq == -1) {
+                    names.add(decode(query, start, end));
+                    values.add("");
+                } else {
+                    names.add(decode(query, start, eq));
+                    values.add(decode(query, eq + 1, end));
+                }
+            }
+            start = end + 1;
+        }
+        return parameters(names, values);
+    }
+
+    /**
+     * Parses an <code>application/x-www-form-urlencoded</code> request
+     * body into its parameters.  The body is parsed as by
+     * {@link #parse(String)}, and any bytes outside of ASCII in it are
+     * decoded as UTF-8.  Each name and value is decoded straight from the
+     * body's bytes, so the body is never converted to a string as a whole.
+     * @param body  the request body
+     * @return the parameters, in the order they appear
+     * @throws IllegalArgumentException <code>body</code> contains a
+     *                                  malformed <code>'%'</code> escape
+     */
+    static public Parameters parse(final ByteArray body) {
+        final ArrayList<String> names = new ArrayList<String>();
+        final ArrayList<String> values = new ArrayList<String>();
+        final int n = body.length();
+        for (int start = 0; start < n;) {
+            int end = start;
+            int eq = -1;
+            for (; end != n; ++end) {
+                final byte b = body.getByte(end);
+                if (b == '&') {
+                    break;
+                }
+                if (b == '=' && eq == -1) {
+                    eq = end;
+                }
+            }
+            if (end != start) {
+                if (eq == -1) {
+                    names.add(decode(body, start, end));
+                    values.add("");
+                } else {
+                    names.add(decode(body, start, eq));
+                    values.add(decode(body, eq + 1, end));
+                }
+            }
+            start = end + 1;
+        }
+        return parameters(names, values);
+    }
+
+    static private Parameters parameters(final ArrayList<String> names,
+                                         final ArrayList<String> values) {
+        return new Parameters(
+            PowerlessArray.array(names.toArray(new String[names.size()])),
+            PowerlessArray.array(values.toArray(new String[values.size()])));
+    }
+
+    /**
+     * A view of part of a <code>CharArray</code>, so that it can be
+     * converted without first being copied.
+     */
+    static private final class Chars implements CharSequence {
+        private final CharArray chars;
+        private final int off;
+        private final int len;
+
+        Chars(final CharArray chars, final int off, final int len) {
+            this.chars = chars;
+            this.off = off;
+            this.len = len;
+        }
+
+        public int length() {
+            return len;
+        }
+
+        public char charAt(final int i) {
+            return chars.getChar(off + i);
+        }
+
+        public CharSequence subSequence(final int from, final int to) {
+            return new Chars(chars, off + from, to - from);
+        }
+
+        public String toString() {
+            final char[] r = new char[len];
+            for (int i = 0; i != len; ++i) {
+                r[i] = chars.getChar(off + i);
+            }
+            return new String(r);
         }
     }
 }
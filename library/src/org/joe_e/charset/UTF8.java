@@ -2,20 +2,30 @@
 // under the terms of the revised BSD license.  See LICENSING for details.
 package org.joe_e.charset;
 
-import java.nio.charset.Charset;
+import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
 
+import org.joe_e.array.ByteArray;
+import org.joe_e.array.CharArray;
+
 /**
  * UTF-8 I/O.
+ * <p>
+ * The conversion methods work directly on arrays rather than through
+ * a <code>Charset</code>, with a fast path for ASCII text, and size their output
+ * exactly.  They produce the same results as the platform's UTF-8 charset:
+ * an unpaired surrogate encodes to <code>'?'</code>, and each malformed
+ * sequence decodes to U+FFFD.
  */
 public final class UTF8 {
-    private static final Charset charset = Charset.forName("UTF-8");
+    /**
+     * The character substituted for malformed input when decoding.
+     */
+    static final char REPLACEMENT = '\uFFFD';
     
     private UTF8() {}
     
@@ -25,15 +35,155 @@ public final class UTF8 {
      * @return The UTF-8 bytes.
      */
     static public byte[] encode(final String text) {
-        final ByteBuffer bytes = charset.encode(text);
-        final int len = bytes.limit();
-        final byte[] v = bytes.array();
-        if (len == v.length) { return v; }
-        final byte[] r = new byte[len];
-        System.arraycopy(v, bytes.arrayOffset(), r, 0, len);
+        final int n = text.length();
+        int ascii = 0;
+        while (ascii != n && text.charAt(ascii) < 0x80) {
+            ++ascii;
+        }
+        final byte[] r = new byte[ascii == n ? n
+                                  : ascii + encodedLength(text, ascii, n)];
+        for (int i = 0; i != ascii; ++i) {
+            r[i] = (byte) text.charAt(i);
+        }
+        if (ascii != n) {
+            encode(text, ascii, n, r, ascii);
+        }
         return r;
     }
     
+    /**
+     * Encodes text in UTF-8, appending the bytes to a builder.
+     * @param text  The text to encode.
+     * @param out   The builder to append to.
+     */
+    static public void encode(final CharSequence text,
+                              final ByteArray.Builder out) {
+        final int n = text.length();
+        for (int i = 0; i != n;) {
+            final int c = codePoint(text, i, n);
+            if (c < 0x80) {
+                out.append((byte) c);
+            } else if (c < 0x800) {
+                out.append((byte) (0xC0 | c >> 6));
+                out.append((byte) (0x80 | c & 0x3F));
+            } else if (c < 0x10000) {
+                out.append((byte) (0xE0 | c >> 12));
+                out.append((byte) (0x80 | c >> 6 & 0x3F));
+                out.append((byte) (0x80 | c & 0x3F));
+            } else {
+                out.append((byte) (0xF0 | c >> 18));
+                out.append((byte) (0x80 | c >> 12 & 0x3F));
+                out.append((byte) (0x80 | c >> 6 & 0x3F));
+                out.append((byte) (0x80 | c & 0x3F));
+                ++i;
+            }
+            ++i;
+        }
+    }
+    
+    /**
+     * Encodes text in UTF-8 into a buffer, starting at its position, which
+     * is advanced past the encoded bytes.
+     * @param text  The text to encode.
+     * @param out   The buffer to write to.
+     * @throws BufferOverflowException <code>out</code> does not have room for
+     *  all of the encoded text; nothing is written
+     * @throws java.nio.ReadOnlyBufferException <code>out</code> is read-only
+     */
+    static public void encode(final CharSequence text, final ByteBuffer out) {
+        final int n = text.length();
+        final int len = encodedLength(text, 0, n);
+        if (len > out.remaining()) {
+            throw new BufferOverflowException();
+        }
+        if (out.hasArray()) {
+            final int start = out.arrayOffset() + out.position();
+            encode(text, 0, n, out.array(), start);
+            out.position(out.position() + len);
+        } else {
+            final byte[] bytes = new byte[len];
+            encode(text, 0, n, bytes, 0);
+            out.put(bytes);
+        }
+    }
+    
+    /**
+     * Computes the length of the UTF-8 encoding of some text.
+     * @param text  The text to measure.
+     * @return The number of bytes <code>encode()</code> would produce.
+     */
+    static public int encodedLength(final CharSequence text) {
+        return encodedLength(text, 0, text.length());
+    }
+    
+    static private int encodedLength(final CharSequence text,
+                                     final int from, final int to) {
+        int len = 0;
+        for (int i = from; i != to; ++i) {
+            final int c = codePoint(text, i, to);
+            if (c < 0x80) {
+                len += 1;
+            } else if (c < 0x800) {
+                len += 2;
+            } else if (c < 0x10000) {
+                len += 3;
+            } else {
+                len += 4;
+                ++i;
+            }
+        }
+        return len;
+    }
+    
+    /**
+     * Encodes part of some text into an array that is known to be large
+     * enough.
+     * @return the index after the last byte written
+     */
+    static private int encode(final CharSequence text, final int from,
+                              final int to, final byte[] out, int pos) {
+        for (int i = from; i != to; ++i) {
+            final int c = codePoint(text, i, to);
+            if (c < 0x80) {
+                out[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                out[pos++] = (byte) (0xC0 | c >> 6);
+                out[pos++] = (byte) (0x80 | c & 0x3F);
+            } else if (c < 0x10000) {
+                out[pos++] = (byte) (0xE0 | c >> 12);
+                out[pos++] = (byte) (0x80 | c >> 6 & 0x3F);
+                out[pos++] = (byte) (0x80 | c & 0x3F);
+            } else {
+                out[pos++] = (byte) (0xF0 | c >> 18);
+                out[pos++] = (byte) (0x80 | c >> 12 & 0x3F);
+                out[pos++] = (byte) (0x80 | c >> 6 & 0x3F);
+                out[pos++] = (byte) (0x80 | c & 0x3F);
+                ++i;
+            }
+        }
+        return pos;
+    }
+    
+    /**
+     * Gets the code point to encode at an index.  A supplementary code point
+     * occupies two <code>char</code>s; an unpaired surrogate is encoded as
+     * <code>'?'</code>.
+     */
+    static int codePoint(final CharSequence text, final int i, final int to) {
+        final char c = text.charAt(i);
+        if (c < Character.MIN_SURROGATE || c > Character.MAX_SURROGATE) {
+            return c;
+        }
+        if (c <= Character.MAX_HIGH_SURROGATE && i + 1 != to) {
+            final char low = text.charAt(i + 1);
+            if (low >= Character.MIN_LOW_SURROGATE &&
+                    low <= Character.MAX_LOW_SURROGATE) {
+                return Character.toCodePoint(c, low);
+            }
+        }
+        return '?';
+    }
+    
     /**
      * Decodes a UTF-8 string. Each byte not corresponding to a UTF-8
      * character decodes to the Unicode replacement character U+FFFD.
@@ -58,22 +208,301 @@ public final class UTF8 {
      * @throws java.lang.IndexOutOfBoundsException
      */
     static public String decode(byte[] buffer, int off, int len) {
-        return charset.decode(ByteBuffer.wrap(buffer, off, len)).toString();
+        if (off < 0 || len < 0 || off + len < 0 || off + len > buffer.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        // A UTF-8 sequence never decodes to more chars than it has bytes.
+        final char[] chars = new char[len];
+        final Decoder decoder = new Decoder();
+        int n = decoder.decode(buffer, off, off + len, chars, 0);
+        if (decoder.isPending()) {
+            chars[n++] = REPLACEMENT;
+        }
+        return new String(chars, 0, n);
+    }
+    
+    /**
+     * Decodes a UTF-8 string from an immutable array.  Each byte not
+     * corresponding to a UTF-8 character decodes to the Unicode replacement
+     * character U+FFFD.  Note that an initial byte-order mark is not stripped.
+     * @param buffer    the UTF-8-encoded string to decode
+     * @param off       where to start decoding
+     * @param len       how many bytes to decode
+     * @return The corresponding string
+     * @throws java.lang.IndexOutOfBoundsException
+     */
+    static public String decode(final ByteArray buffer, final int off,
+                                final int len) {
+        if (off < 0 || len < 0 || off + len < 0 ||
+                off + len > buffer.length()) {
+            throw new IndexOutOfBoundsException();
+        }
+        final char[] chars = new char[len];
+        int i = 0;
+        for (; i != len; ++i) {
+            final byte b = buffer.getByte(off + i);
+            if (b < 0) {
+                break;
+            }
+            chars[i] = (char) b;
+        }
+        if (i == len) {
+            return new String(chars);
+        }
+        final byte[] rest = new byte[len - i];
+        for (int j = 0; j != rest.length; ++j) {
+            rest[j] = buffer.getByte(off + i + j);
+        }
+        final Decoder decoder = new Decoder();
+        int n = decoder.decode(rest, 0, rest.length, chars, i);
+        if (decoder.isPending()) {
+            chars[n++] = REPLACEMENT;
+        }
+        return new String(chars, 0, n);
+    }
+    
+    /**
+     * An incremental UTF-8 decoder, for input that arrives in pieces, such
+     * as the buffers read from a non-blocking channel.  A sequence split
+     * between two pieces is held until the rest of it arrives, so decoding
+     * piece by piece gives the same text as decoding all of the input at
+     * once, without re-scanning any of it.  Malformed input is replaced as
+     * by {@link UTF8#decode(byte[]) decode()}.
+     */
+    static public final class Decoder {
+        /**
+         * Most bytes decoded at a time into the scratch buffer.
+         */
+        static private final int CHUNK = 256;
+        
+        private int need;           // number of continuation bytes expected
+        private int c;              // code point so far
+        private int lo = 0x80;      // range of the next continuation byte
+        private int hi = 0xBF;
+        private char[] chars;       // scratch, allocated when first needed
+        private byte[] bytes;       // likewise, for direct buffers
+        
+        /**
+         * Constructs a decoder.
+         */
+        public Decoder() {}
+        
+        /**
+         * Is the input so far in the middle of a sequence?
+         * @return <code>true</code> if more bytes are needed to complete the
+         *  last character
+         */
+        public boolean isPending() {
+            return need != 0;
+        }
+        
+        /**
+         * Discards any partial sequence.
+         */
+        public void reset() {
+            need = 0;
+            lo = 0x80;
+            hi = 0xBF;
+        }
+        
+        /**
+         * Decodes the next piece of input.
+         * @param in    the input
+         * @param off   where to start decoding
+         * @param len   how many bytes to decode
+         * @param out   where to append the decoded characters
+         * @throws java.lang.IndexOutOfBoundsException
+         */
+        public void decode(final byte[] in, final int off, final int len,
+                           final StringBuilder out) {
+            check(in, off, len);
+            final char[] scratch = scratch();
+            for (int i = off, end = off + len; i != end;) {
+                final int next = Math.min(end, i + CHUNK);
+                out.append(scratch, 0, decode(in, i, next, scratch, 0));
+                i = next;
+            }
+        }
+        
+        /**
+         * Decodes the next piece of input.
+         * @param in    the input
+         * @param off   where to start decoding
+         * @param len   how many bytes to decode
+         * @param out   where to append the decoded characters
+         * @throws java.lang.IndexOutOfBoundsException
+         */
+        public void decode(final byte[] in, final int off, final int len,
+                           final CharArray.Builder out) {
+            check(in, off, len);
+            final char[] scratch = scratch();
+            for (int i = off, end = off + len; i != end;) {
+                final int next = Math.min(end, i + CHUNK);
+                out.append(scratch, 0, decode(in, i, next, scratch, 0));
+                i = next;
+            }
+        }
+        
+        /**
+         * Decodes the remaining bytes of a buffer, advancing its position to
+         * its limit.
+         * @param in    the input
+         * @param out   where to append the decoded characters
+         */
+        public void decode(final ByteBuffer in, final StringBuilder out) {
+            if (in.hasArray()) {
+                decode(in.array(), in.arrayOffset() + in.position(),
+                       in.remaining(), out);
+                in.position(in.limit());
+                return;
+            }
+            final char[] scratch = scratch();
+            if (bytes == null) {
+                bytes = new byte[CHUNK];
+            }
+            while (in.hasRemaining()) {
+                final int k = Math.min(in.remaining(), CHUNK);
+                in.get(bytes, 0, k);
+                out.append(scratch, 0, decode(bytes, 0, k, scratch, 0));
+            }
+        }
+        
+        /**
+         * Ends the input.  A partial sequence left over is replaced by
+         * U+FFFD, and the decoder is ready for new input.
+         * @param out   where to append the replacement, if any
+         */
+        public void finish(final StringBuilder out) {
+            if (need != 0) {
+                reset();
+                out.append(REPLACEMENT);
+            }
+        }
+        
+        /**
+         * Ends the input.  A partial sequence left over is replaced by
+         * U+FFFD, and the decoder is ready for new input.
+         * @param out   where to append the replacement, if any
+         */
+        public void finish(final CharArray.Builder out) {
+            if (need != 0) {
+                reset();
+                out.append(REPLACEMENT);
+            }
+        }
+        
+        static private void check(final byte[] in, final int off,
+                                  final int len) {
+            if (off < 0 || len < 0 || off + len < 0 || off + len > in.length) {
+                throw new IndexOutOfBoundsException();
+            }
+        }
+        
+        /**
+         * Gets a buffer large enough for the output of decoding
+         * <code>CHUNK</code> bytes: the bytes of a sequence left over from
+         * the last piece can add one character to it.
+         */
+        private char[] scratch() {
+            if (chars == null) {
+                chars = new char[CHUNK + 1];
+            }
+            return chars;
+        }
+        
+        /**
+         * Decodes part of an array into a <code>char</code> array that is
+         * known to be large enough.  A malformed sequence is replaced as by
+         * the platform's UTF-8 decoder: the longest prefix of a well-formed
+         * sequence, or else a single byte, becomes one U+FFFD.
+         * @return the index after the last char written
+         */
+        int decode(final byte[] in, int i, final int end,
+                   final char[] out, int n) {
+            int need = this.need;
+            int c = this.c;
+            int lo = this.lo;
+            int hi = this.hi;
+            while (i != end) {
+                final int b = in[i];
+                if (need == 0) {
+                    ++i;
+                    if (b >= 0) {
+                        out[n++] = (char) b;
+                        continue;
+                    }
+                    final int lead = b & 0xFF;
+                    if (lead < 0xC2 || lead > 0xF4) {  // continuation, overlong
+                        out[n++] = REPLACEMENT;         // or beyond U+10FFFF
+                    } else if (lead < 0xE0) {
+                        need = 1;
+                        c = lead & 0x1F;
+                    } else if (lead < 0xF0) {
+                        need = 2;
+                        c = lead & 0x0F;
+                        if (lead == 0xE0) {
+                            lo = 0xA0;                  // overlong
+                        }
+                    } else {
+                        need = 3;
+                        c = lead & 0x07;
+                        if (lead == 0xF0) {
+                            lo = 0x90;                  // overlong
+                        } else if (lead == 0xF4) {
+                            hi = 0x8F;                  // beyond U+10FFFF
+                        }
+                    }
+                    continue;
+                }
+                final int next = b & 0xFF;
+                final boolean fits = next >= lo && next <= hi;
+                lo = 0x80;
+                hi = 0xBF;
+                if (!fits) {
+                    // Replace the sequence so far, and start afresh at b.
+                    out[n++] = REPLACEMENT;
+                    need = 0;
+                    continue;
+                }
+                ++i;
+                c = c << 6 | next & 0x3F;
+                if (--need == 0) {
+                    if (c >= Character.MIN_SURROGATE &&
+                            c <= Character.MAX_SURROGATE) {
+                        out[n++] = REPLACEMENT;
+                    } else if (c < 0x10000) {
+                        out[n++] = (char) c;
+                    } else {
+                        out[n++] = (char) (Character.MIN_HIGH_SURROGATE +
+                                           (c - 0x10000 >> 10));
+                        out[n++] = (char) (Character.MIN_LOW_SURROGATE +
+                                           (c & 0x3FF));
+                    }
+                }
+            }
+            this.need = need;
+            this.c = c;
+            this.lo = lo;
+            this.hi = hi;
+            return n;
+        }
     }
     
     /**
-     * Constructs a UTF-8 reader.
+     * Constructs a UTF-8 reader.  The decoder it uses is returned to a
+     * per-thread pool when the reader is closed.
      * @param in    The binary input stream.
      */
     static public Reader input(final InputStream in) {
-        return new InputStreamReader(in, charset);
+        return new DecodingReader(in, CoderPool.UTF8);
     }
     
     /**
-     * Constructs a UTF-8 writer.
+     * Constructs a UTF-8 writer.  The encoder it uses is returned to a
+     * per-thread pool when the writer is closed.
      * @param out   The binary output stream.
      */
     static public Writer output(final OutputStream out) {
-        return new OutputStreamWriter(out, charset);
+        return new EncodingWriter(out, CoderPool.UTF8);
     }
 }
@@ -0,0 +1,71 @@
+// Copyright 2008 Regents of the University of California.  May be used
+// under the terms of the revised BSD license.  See LICENSING for details.
+package org.joe_e.file;
+
+import org.joe_e.Powerless;
+
+/**
+ * What was known about a directory entry when its directory was read.
+ * Obtained from {@link Filesystem#listAttributes
+ * Filesystem.listAttributes()}.  This is only a record of the entry, and
+ * gives no access to the file itself; use
+ * {@link Filesystem#file Filesystem.file()} with the directory and
+ * {@link #getName name} for that.
+ */
+public final class FileAttributes implements Powerless {
+    private final String name;
+    private final long size;
+    private final long lastModified;
+    private final boolean file;
+    private final boolean directory;
+
+    FileAttributes(final String name, final long size,
+                   final long lastModified, final boolean file,
+                   final boolean directory) {
+        this.name = name;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.file = file;
+        this.directory = directory;
+    }
+
+    /**
+     * Gets the name of the entry.
+     * @return a single filename component
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the length of the entry.
+     * @return the length in bytes, or 0 if the entry is not a file
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the time the entry was last modified.
+     * @return milliseconds since the epoch, or 0 if unknown
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Is the entry a normal file?
+     * @return <code>true</code> if the entry is a file
+     */
+    public boolean isFile() {
+        return file;
+    }
+
+    /**
+     * Is the entry a directory?
+     * @return <code>true</code> if the entry is a directory
+     */
+    public boolean isDirectory() {
+        return directory;
+    }
+}
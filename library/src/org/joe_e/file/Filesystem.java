@@ -9,10 +9,19 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
 import java.util.Arrays;
-import java.util.Comparator;
+import java.util.Collections;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
+import org.joe_e.array.ByteArray;
 import org.joe_e.array.ConstArray;
+import org.joe_e.array.PowerlessArray;
 
 /**
  * {@link File} construction.  This provides a capability-safe API for access to
@@ -24,6 +33,7 @@ import org.joe_e.array.ConstArray;
  */
 public final class Filesystem {
     
+    
     private Filesystem() {}
     
     /*
@@ -58,26 +68,43 @@ public final class Filesystem {
      */
     static public void checkName(final String name) 
                                        throws InvalidFilenameException {
-        // Check for path operation names.
-        if (name.equals("") || name.equals(".") || name.equals("..")) {
+        if (!isName(name, 0, name.length())) {
             throw new InvalidFilenameException();
         }
-        // Null bytes are bad news, as they are allowed in Java strings but
-        // silently truncate C strings.  If not prohibited, they could be used
-        // to effectively bypass the above checks.
-        if (name.indexOf('\0') != -1) {
-            throw new InvalidFilenameException();
+    }
+    
+    /**
+     * Vets part of a string as a filename, in a single pass over it.
+     * @return <code>true</code> if the characters from <code>from</code>
+     *         up to <code>to</code> form an acceptable filename
+     */
+    static boolean isName(final String name, final int from, final int to) {
+        if (isPathOperation(name, from, to)) {
+            return false;
         }
-        
-        // Check for path separator char.
-        if (name.indexOf(File.separatorChar) != -1) {
-            throw new InvalidFilenameException();
-        }      
-        // '/' works as a separator on Windows, even though it isn't the 
-        // platform separator character
-        if ('/' != File.separatorChar && name.indexOf('/') != -1) {
-            throw new InvalidFilenameException();
+        for (int i = from; i != to; ++i) {
+            final char c = name.charAt(i);
+            // Null bytes are bad news, as they are allowed in Java strings
+            // but silently truncate C strings.  If not prohibited, they could
+            // be used to effectively bypass the above checks.  Also check for
+            // path separators: '/' works as a separator on Windows, even
+            // though it isn't the platform separator character.
+            if (c == '\0' || c == '/' || c == File.separatorChar) {
+                return false;
+            }
         }
+        return true;
+    }
+    
+    /**
+     * Is part of a string empty, or the name of the current or parent
+     * directory?
+     */
+    static boolean isPathOperation(final String name, final int from,
+                                   final int to) {
+        final int n = to - from;
+        return n == 0 || name.charAt(from) == '.' &&
+                         (n == 1 || n == 2 && name.charAt(from + 1) == '.');
     }
     
     /**
@@ -87,18 +114,155 @@ public final class Filesystem {
      * @throws IOException <code>dir</code> is not a directory, or an I/O error
      */
     static public ConstArray<File> list(final File dir) throws IOException {
-        final File[] contents = dir.listFiles();
-        if (contents == null) { 
-            throw new IOException();
+        return list(dir, null, true);
+    }
+    
+    /**
+     * List the contents of a directory whose names match a pattern.  Unless
+     * a sorted listing is asked for, entries are in whatever order the
+     * platform lists them, which saves sorting a large directory.
+     * @param dir   directory to list
+     * @param glob  pattern the names must match, in which <code>'*'</code>
+     *              matches any run of characters and <code>'?'</code> any
+     *              single character, or <code>null</code> to match any name
+     * @param sorted    whether to sort the entries alphabetically
+     * @return directory entries
+     * @throws IOException <code>dir</code> is not a directory, or an I/O error
+     */
+    static public ConstArray<File> list(final File dir, final String glob,
+                                        final boolean sorted)
+                                                    throws IOException {
+        final String[] names = names(dir);
+        int n = 0;
+        for (final String name : names) {
+            if (glob == null || matches(glob, name)) {
+                names[n++] = name;
+            }
+        }
+        if (sorted) {
+            Arrays.sort(names, 0, n);
         }
-        Arrays.sort(contents, new Comparator<File>() {
-            public int compare(final File a, final File b) {
-                return a.getName().compareTo(b.getName());
+        final File[] contents = new File[n];
+        for (int i = 0; i != n; ++i) {
+            contents[i] = new File(dir, names[i]);
+        }
+        return ConstArray.array(contents);
+    }
+    
+    /**
+     * List one page of the contents of a directory.  The page holds the
+     * alphabetically first entries whose names come after a given name,
+     * so a directory can be read a page at a time by passing the name of
+     * the last entry of each page to get the next.  Only the entries on
+     * the page are sorted, and only they have <code>File</code> objects
+     * made for them.
+     * @param dir   directory to list
+     * @param glob  pattern the names must match, as for
+     *              {@link #list(File, String, boolean)}, or <code>null</code>
+     * @param after name that all entries must come after, or
+     *              <code>null</code> to start from the beginning
+     * @param max   most entries to return
+     * @return directory entries, sorted alphabetically
+     * @throws IllegalArgumentException <code>max</code> is negative
+     * @throws IOException <code>dir</code> is not a directory, or an I/O error
+     */
+    static public ConstArray<File> list(final File dir, final String glob,
+                                        final String after, final int max)
+                                                    throws IOException {
+        if (max < 0) {
+            throw new IllegalArgumentException();
+        }
+        final String[] names = names(dir);
+        // The last entry on the page so far is at the head.
+        final PriorityQueue<String> page = new PriorityQueue<String>(
+            Math.max(1, Math.min(max, names.length)),
+            Collections.reverseOrder());
+        for (final String name : names) {
+            if (after != null && name.compareTo(after) <= 0 ||
+                    glob != null && !matches(glob, name)) {
+                continue;
             }
-        });
+            if (page.size() < max) {
+                page.add(name);
+            } else if (max != 0 && name.compareTo(page.peek()) < 0) {
+                page.poll();
+                page.add(name);
+            }
+        }
+        final String[] sorted = page.toArray(new String[page.size()]);
+        Arrays.sort(sorted);
+        final File[] contents = new File[sorted.length];
+        for (int i = 0; i != sorted.length; ++i) {
+            contents[i] = new File(dir, sorted[i]);
+        }
         return ConstArray.array(contents);
     }
     
+    static private String[] names(final File dir) throws IOException {
+        final String[] names = dir.list();
+        if (names == null) {
+            throw new IOException();
+        }
+        return names;
+    }
+    
+    /**
+     * Does a name match a pattern?  On a mismatch, the most recent
+     * <code>'*'</code> is made to match one more character.  Going back to
+     * earlier ones is never needed, as nothing else can match more than one
+     * character.
+     */
+    static private boolean matches(final String glob, final String name) {
+        final int g = glob.length();
+        final int n = name.length();
+        int i = 0;          // position in glob
+        int j = 0;          // position in name
+        int star = -1;      // position in glob after the last '*'
+        int mark = 0;       // position in name the last '*' matched up to
+        while (j != n) {
+            if (i != g && (glob.charAt(i) == '?' ||
+                           glob.charAt(i) != '*' &&
+                           glob.charAt(i) == name.charAt(j))) {
+                ++i;
+                ++j;
+            } else if (i != g && glob.charAt(i) == '*') {
+                star = ++i;
+                mark = j;
+            } else if (star != -1) {
+                i = star;
+                j = ++mark;
+            } else {
+                return false;
+            }
+        }
+        while (i != g && glob.charAt(i) == '*') {
+            ++i;
+        }
+        return i == g;
+    }
+    
+    /**
+     * Lists the contents of a directory along with the attributes of each
+     * entry, in one call.
+     * @param dir   directory to list
+     * @return directory entries, sorted alphabetically by name
+     * @throws IOException <code>dir</code> is not a directory, or an I/O error
+     */
+    static public PowerlessArray<FileAttributes> listAttributes(final File dir)
+                                                    throws IOException {
+        final String[] names = names(dir);
+        Arrays.sort(names);
+        final FileAttributes[] r = new FileAttributes[names.length];
+        for (int i = 0; i != names.length; ++i) {
+            final File f = new File(dir, names[i]);
+            final boolean isFile = f.isFile();
+            r[i] = new FileAttributes(names[i], isFile ? f.length() : 0,
+                                      f.lastModified(), isFile,
+                                      !isFile && f.isDirectory());
+        }
+        return PowerlessArray.array(r);
+    }
+    
     /**
      * Gets the length of a file
      * @param file  file to stat
@@ -127,6 +291,132 @@ public final class Filesystem {
         return new FileInputStream(file);
     }
     
+    /**
+     * Reads the whole of a file in the background, as by
+     * {@link #readAll readAll()}.  The read is run by an executor, so a
+     * thread that must not block, such as one running an event loop, can
+     * hand it off and collect the contents once they are ready.  To be told
+     * when that is, pass an executor that, after running a task, signals the
+     * thread waiting for it.
+     * <p>
+     * An <code>Error</code> thrown by the read is not handed to the
+     * <code>Future</code>: the task is cancelled and the error is rethrown
+     * from its <code>run()</code> method, on the executor's thread.
+     * <p>
+     * As <code>java.util.concurrent</code> is not in the taming database,
+     * this method is for trusted code only, and is itself absent from the
+     * taming database.
+     * @param file      file to read
+     * @param maxBytes  largest size of file to read
+     * @param executor  runs the read
+     * @return the contents of the file, once read.  If the read fails, the
+     *         <code>Future</code> reports a
+     *         <code>FileNotFoundException</code> if <code>file</code> is
+     *         not found, or an <code>IOException</code> if it is longer than
+     *         <code>maxBytes</code> or on an I/O error.
+     */
+    static public Future<ByteArray> readAsync(final File file,
+                                              final int maxBytes,
+                                              final Executor executor) {
+        final ReadTask task = new ReadTask(new Callable<ByteArray>() {
+            public ByteArray call() throws IOException {
+                return readAll(file, maxBytes);
+            }
+        });
+        executor.execute(task);
+        return task;
+    }
+
+    /**
+     * A background read that rethrows, rather than reports, an
+     * <code>Error</code>.
+     */
+    static private final class ReadTask extends FutureTask<ByteArray> {
+        private Error error;    // thrown by the read, rethrown by run()
+
+        ReadTask(final Callable<ByteArray> read) {
+            super(read);
+        }
+
+        public void run() {
+            super.run();
+            if (error != null) {
+                throw error;
+            }
+        }
+
+        protected void setException(final Throwable e) {
+            if (e instanceof Error) {
+                error = (Error) e;
+                cancel(false);
+            } else {
+                super.setException(e);
+            }
+        }
+    }
+    
+    /**
+     * Reads the whole of a file into an immutable array.  The array is
+     * allocated once, at the size the file has when it is opened, and the
+     * file is read straight into it.  If the file is extended while being
+     * read, the bytes past its original end are not read; if it is
+     * truncated, the array holds what could be read.
+     * @param file      file to read
+     * @param maxBytes  largest size of file to read
+     * @return the contents of the file
+     * @throws FileNotFoundException  <code>file</code> not found
+     * @throws IOException  <code>file</code> is longer than
+     *                      <code>maxBytes</code>, or an I/O error
+     */
+    static public ByteArray readAll(final File file, final int maxBytes)
+                                                    throws IOException {
+        if (!file.isFile()) { 
+            throw new FileNotFoundException();
+        }
+        final FileInputStream in = new FileInputStream(file);
+        try {
+            final FileChannel channel = in.getChannel();
+            final long size = channel.size();
+            if (size > maxBytes) {
+                throw new IOException("file is longer than " + maxBytes +
+                                      " bytes");
+            }
+            final ByteArray.Builder r = ByteArray.builder((int) size);
+            r.append(in, (int) size);
+            return r.snapshot();
+        } finally {
+            in.close();
+        }
+    }
+    
+    /**
+     * Opens an existing file for reading at any position.
+     * @param file  file to open
+     * @return opened file
+     * @throws FileNotFoundException  <code>file</code> not found
+     */
+    static public OpenFile open(final File file) 
+                                       throws FileNotFoundException {
+        if (!file.isFile()) { 
+            throw new FileNotFoundException();
+        }
+        return new OpenFile(new FileInputStream(file).getChannel());
+    }
+    
+    /**
+     * Opens an existing file for reading and writing at any position.
+     * @param file  file to open
+     * @return opened file
+     * @throws FileNotFoundException  <code>file</code> not found
+     */
+    static public OpenFile openWritable(final File file) 
+                                       throws FileNotFoundException {
+        if (!file.isFile()) { 
+            throw new FileNotFoundException();
+        }
+        return new OpenFile(new RandomAccessFile(file, "rw").getChannel());
+    }
+    
     /**
      * Creates a file for writing, if and only if the file does
      * not already exist, and returns an OutputStream for writing to
@@ -142,4 +432,88 @@ public final class Filesystem {
         }
         return new FileOutputStream(file);
     }
+    
+    /**
+     * Opens a file for appending, creating it if it does not exist.  Each
+     * sequential write goes at the end of the file, even if other writers
+     * have extended it since, so one open file can be kept for a log rather
+     * than reopening the file for each record.
+     * @param file  file to open
+     * @return opened file
+     * @throws FileNotFoundException    <code>file</code> is a directory, or
+     *                                  could not be created
+     */
+    static public OpenFile append(final File file)
+                                       throws FileNotFoundException {
+        return new OpenFile(new FileOutputStream(file, true).getChannel());
+    }
+    
+    /**
+     * Replaces the contents of a file, creating the file if it does not
+     * exist.  The new contents are written to a temporary file in the same
+     * folder and forced out to the storage device before the temporary file
+     * is renamed over the original, so a reader sees either all of the old
+     * contents or all of the new, even if the system crashes during the
+     * update.  If the replacement fails, the temporary file is deleted and
+     * the original is left as it was.
+     * <p>
+     * On platforms where a rename cannot replace an existing file, the
+     * original is first renamed aside, and put back if the temporary file
+     * cannot take its place; the replacement is then not atomic.  A crash,
+     * or a failure to put the original back, may leave temporary files,
+     * whose names start with <code>'.'</code> and the name of the file being
+     * replaced, behind.  Once the original has been moved aside, neither
+     * copy is ever deleted until the new contents are in place.
+     * @param folder    containing folder
+     * @param name      a single filename component, not a relative path
+     * @param contents  the new contents
+     * @throws IllegalArgumentException if <code>folder</code> is null or
+     *     the empty path
+     * @throws InvalidFilenameException <code>name</code> is rejected
+     * @throws IOException  the file could not be replaced
+     */
+    static public void atomicReplace(final File folder, final String name,
+                                     final ByteArray contents)
+                                                    throws IOException {
+        final File file = file(folder, name);
+        final File temp = File.createTempFile("." + name + ".", ".tmp",
+                                              folder);
+        boolean done = false;
+        try {
+            final FileOutputStream out = new FileOutputStream(temp);
+            try {
+                out.write(contents.toByteArray());
+                out.getFD().sync();
+            } finally {
+                out.close();
+            }
+            if (!temp.renameTo(file)) {
+                if (!file.isFile()) {
+                    throw new IOException("could not replace " + name);
+                }
+                final File aside = File.createTempFile("." + name + ".",
+                                                       ".old", folder);
+                if (!aside.delete() || !file.renameTo(aside)) {
+                    aside.delete();
+                    throw new IOException("could not replace " + name);
+                }
+                if (!temp.renameTo(file)) {
+                    if (!aside.renameTo(file)) {
+                        // Both copies are kept for the user to recover.
+                        done = true;
+                        throw new IOException("could not replace " + name +
+                            "; old contents are in " + aside.getName() +
+                            ", new contents in " + temp.getName());
+                    }
+                    throw new IOException("could not replace " + name);
+                }
+                aside.delete();
+            }
+            done = true;
+        } finally {
+            if (!done) {
+                temp.delete();
+            }
+        }
+    }
 }
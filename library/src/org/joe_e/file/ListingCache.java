@@ -0,0 +1,144 @@
+// Copyright 2008 Regents of the University of California.  May be used
+// under the terms of the revised BSD license.  See LICENSING for details.
+package org.joe_e.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.joe_e.array.ConstArray;
+
+/**
+ * A cache of directory listings, for code that lists the same directories
+ * over and over.  Each listing is kept along with the modification time its
+ * directory had when it was read, and is returned again for as long as that
+ * time is unchanged.  The least recently used listing is dropped when the
+ * cache is full.
+ * <p>
+ * A directory's modification time is only as fine as the filesystem keeps
+ * it, so a change made soon after a listing was read could leave the time
+ * as it was.  A listing is therefore only reused if, by the clock the cache
+ * was given, it was read well after the time it is recorded with.  A
+ * directory whose time is set back by hand to the time it had when listed
+ * will not be seen to have changed.
+ */
+public final class ListingCache {
+    /**
+     * Coarsest modification time resolution in common use, in milliseconds.
+     */
+    static private final long GRANULARITY = 2000;
+
+    private final Clock clock;
+    private final LinkedHashMap<File, Listing> listings;
+    private long hits;
+    private long misses;
+
+    static private final class Listing {
+        final long modified;        // directory time when listed
+        final long listedAt;        // clock time before listing
+        final ConstArray<File> contents;
+
+        Listing(final long modified, final long listedAt,
+                final ConstArray<File> contents) {
+            this.modified = modified;
+            this.listedAt = listedAt;
+            this.contents = contents;
+        }
+    }
+
+    /**
+     * A source of the current time, to compare with directory modification
+     * times.
+     */
+    public interface Clock {
+        /**
+         * Gets the current time.
+         * @return milliseconds since the epoch, as file times are kept
+         */
+        long currentTimeMillis();
+    }
+
+    /**
+     * Constructs an empty cache.
+     * @param capacity  most directories to keep listings for
+     * @param clock     source of the current time
+     * @throws IllegalArgumentException <code>capacity</code> is not positive
+     */
+    public ListingCache(final int capacity, final Clock clock) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException();
+        }
+        if (clock == null) {
+            throw new NullPointerException();
+        }
+        this.clock = clock;
+        listings = new LinkedHashMap<File, Listing>(16, 0.75f, true) {
+            static private final long serialVersionUID = 1L;
+
+            protected boolean removeEldestEntry(final Map.Entry<File, Listing>
+                                                                    eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * List the contents of a directory, as by
+     * {@link Filesystem#list(File) Filesystem.list()}, reusing the last
+     * listing if the directory has not changed since.
+     * @param dir   directory to list
+     * @return directory entries, sorted alphabetically
+     * @throws IOException <code>dir</code> is not a directory, or an I/O error
+     */
+    public ConstArray<File> list(final File dir) throws IOException {
+        final long modified = dir.lastModified();
+        synchronized (listings) {
+            final Listing cached = listings.get(dir);
+            if (cached != null && modified != 0 &&
+                    cached.modified == modified &&
+                    cached.listedAt - modified >= GRANULARITY) {
+                ++hits;
+                return cached.contents;
+            }
+            ++misses;
+        }
+        final long listedAt = clock.currentTimeMillis();
+        final ConstArray<File> contents = Filesystem.list(dir);
+        synchronized (listings) {
+            listings.put(dir, new Listing(modified, listedAt, contents));
+        }
+        return contents;
+    }
+
+    /**
+     * Drops all the listings.  The counts are kept.
+     */
+    public void clear() {
+        synchronized (listings) {
+            listings.clear();
+        }
+    }
+
+    /**
+     * Gets the number of listings that were reused.
+     * @return the number of calls to {@link #list list()} answered from
+     *         the cache
+     */
+    public long getHits() {
+        synchronized (listings) {
+            return hits;
+        }
+    }
+
+    /**
+     * Gets the number of listings that had to be read.
+     * @return the number of calls to {@link #list list()} that read the
+     *         directory
+     */
+    public long getMisses() {
+        synchronized (listings) {
+            return misses;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+// Copyright 2008 Regents of the University of California.  May be used
+// under the terms of the revised BSD license.  See LICENSING for details.
+package org.joe_e.file;
+
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * An open file.  Unlike a {@link java.io.File}, which only names a file, an
+ * open file stays attached to the file it was opened on, so it is not subject
+ * to the file being renamed or replaced between operations.  Reads and writes
+ * can be made at a given position without moving the current position, so
+ * one open file can serve many requests for parts of the file.  Obtained from
+ * {@link Filesystem#open Filesystem.open()} or
+ * {@link Filesystem#openWritable Filesystem.openWritable()}.
+ */
+public final class OpenFile implements Closeable {
+    private final FileChannel channel;
+
+    OpenFile(final FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Gets the current size of the file.
+     * @return the length of the file in bytes
+     * @throws IOException  an I/O error
+     */
+    public long size() throws IOException {
+        return channel.size();
+    }
+
+    /**
+     * Gets the current position, where the next sequential read or write
+     * will start.
+     * @return the current position
+     * @throws IOException  an I/O error
+     */
+    public long position() throws IOException {
+        return channel.position();
+    }
+
+    /**
+     * Sets the current position.
+     * @param position  the new position
+     * @throws IllegalArgumentException <code>position</code> is negative
+     * @throws IOException  an I/O error
+     */
+    public void position(final long position) throws IOException {
+        channel.position(position);
+    }
+
+    /**
+     * Reads from the current position, advancing it past the bytes read.
+     * @param buf   buffer to read into
+     * @param off   where to start filling <code>buf</code>
+     * @param len   most bytes to read
+     * @return the number of bytes read, or -1 at the end of the file
+     * @throws IOException  an I/O error
+     */
+    public int read(final byte[] buf, final int off, final int len)
+                                                    throws IOException {
+        return channel.read(ByteBuffer.wrap(buf, off, len));
+    }
+
+    /**
+     * Reads from a given position.  The current position is unchanged.
+     * @param position  where in the file to start reading
+     * @param buf   buffer to read into
+     * @param off   where to start filling <code>buf</code>
+     * @param len   most bytes to read
+     * @return the number of bytes read, or -1 if <code>position</code> is at
+     *         or past the end of the file
+     * @throws IllegalArgumentException <code>position</code> is negative
+     * @throws IOException  an I/O error
+     */
+    public int read(final long position, final byte[] buf, final int off,
+                    final int len) throws IOException {
+        return channel.read(ByteBuffer.wrap(buf, off, len), position);
+    }
+
+    /**
+     * Writes all of a buffer at the current position, advancing it past the
+     * bytes written.
+     * @param buf   buffer to write from
+     * @param off   where to start in <code>buf</code>
+     * @param len   how many bytes to write
+     * @throws java.nio.channels.NonWritableChannelException
+     *                      the file was opened only for reading
+     * @throws IOException  an I/O error
+     */
+    public void write(final byte[] buf, final int off, final int len)
+                                                    throws IOException {
+        final ByteBuffer src = ByteBuffer.wrap(buf, off, len);
+        while (src.hasRemaining()) {
+            channel.write(src);
+        }
+    }
+
+    /**
+     * Writes all of a buffer at a given position.  The current position is
+     * unchanged.  The file grows if the bytes extend past its end.
+     * @param position  where in the file to start writing
+     * @param buf   buffer to write from
+     * @param off   where to start in <code>buf</code>
+     * @param len   how many bytes to write
+     * @throws IllegalArgumentException <code>position</code> is negative
+     * @throws java.nio.channels.NonWritableChannelException
+     *                      the file was opened only for reading
+     * @throws IOException  an I/O error
+     */
+    public void write(final long position, final byte[] buf, final int off,
+                      final int len) throws IOException {
+        final ByteBuffer src = ByteBuffer.wrap(buf, off, len);
+        while (src.hasRemaining()) {
+            channel.write(src, position + src.position() - off);
+        }
+    }
+
+    /**
+     * Copies part of the file to a channel.  Where the platform allows, the
+     * bytes go straight from the file to the target, without being copied
+     * through the Java heap.  The current position is unchanged.
+     * @param position  where in the file to start
+     * @param count     most bytes to copy
+     * @param target    where to copy to
+     * @return the number of bytes copied, which may be less than
+     *         <code>count</code>
+     * @throws IllegalArgumentException <code>position</code> or
+     *                                  <code>count</code> is negative
+     * @throws IOException  an I/O error
+     */
+    public long transferTo(final long position, final long count,
+                           final WritableByteChannel target)
+                                                    throws IOException {
+        return channel.transferTo(position, count, target);
+    }
+
+    /**
+     * Copies part of the file to a stream.  The current position is
+     * unchanged.
+     * @param position  where in the file to start
+     * @param count     most bytes to copy
+     * @param out       where to copy to
+     * @return the number of bytes copied, which is less than
+     *         <code>count</code> only at the end of the file
+     * @throws IllegalArgumentException <code>position</code> or
+     *                                  <code>count</code> is negative
+     * @throws IOException  an I/O error
+     */
+    public long transferTo(final long position, final long count,
+                           final OutputStream out) throws IOException {
+        if (position < 0 || count < 0) {
+            throw new IllegalArgumentException();
+        }
+        final WritableByteChannel target = out instanceof FileOutputStream
+            ? ((FileOutputStream) out).getChannel() : Channels.newChannel(out);
+        final long size = channel.size();
+        final long end = position < size
+            ? position + Math.min(count, size - position) : position;
+        long done = position;
+        while (done < end) {
+            final long n = channel.transferTo(done, end - done, target);
+            if (n <= 0) {
+                break;
+            }
+            done += n;
+        }
+        return done - position;
+    }
+
+    /**
+     * Forces any writes made so far out to the storage device.
+     * @throws IOException  an I/O error
+     */
+    public void force() throws IOException {
+        channel.force(true);
+    }
+
+    /**
+     * Closes the file.  Closing a file more than once has no further
+     * effect.
+     * @throws IOException  an I/O error
+     */
+    public void close() throws IOException {
+        channel.close();
+    }
+}
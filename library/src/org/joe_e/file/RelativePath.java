@@ -0,0 +1,100 @@
+// Copyright 2008 Regents of the University of California.  May be used
+// under the terms of the revised BSD license.  See LICENSING for details.
+package org.joe_e.file;
+
+import java.io.File;
+
+import org.joe_e.Powerless;
+import org.joe_e.Selfless;
+
+/**
+ * A path leading down from a folder through one or more names, such as
+ * <code>"Maildir/new"</code>.  Each name is vetted as by
+ * {@link Filesystem#checkName Filesystem.checkName()} when the path is
+ * made, so a path can be kept and {@link #resolve resolved} against any
+ * number of folders without being checked again, and without making a
+ * <code>File</code> for each folder along the way.
+ */
+public final class RelativePath implements Powerless, Selfless {
+    private final String path;      // names separated by '/'
+    private final String platform;  // names separated by File.separatorChar
+    private final int length;
+
+    private RelativePath(final String path, final int length) {
+        this.path = path;
+        this.platform = path.replace('/', File.separatorChar);
+        this.length = length;
+    }
+
+    /**
+     * Makes a path from names separated by <code>'/'</code>.
+     * @param path  one or more names, separated by single <code>'/'</code>s
+     * @return the path
+     * @throws InvalidFilenameException a name is rejected, or is empty
+     */
+    static public RelativePath parse(final String path)
+                                        throws InvalidFilenameException {
+        final int n = path.length();
+        int length = 1;
+        int start = 0;
+        for (int i = 0; i != n; ++i) {
+            final char c = path.charAt(i);
+            if (c == '/') {
+                if (Filesystem.isPathOperation(path, start, i)) {
+                    throw new InvalidFilenameException();
+                }
+                ++length;
+                start = i + 1;
+            } else if (c == '\0' || c == File.separatorChar) {
+                // As for Filesystem.checkName().
+                throw new InvalidFilenameException();
+            }
+        }
+        if (Filesystem.isPathOperation(path, start, n)) {
+            throw new InvalidFilenameException();
+        }
+        return new RelativePath(path, length);
+    }
+
+    /**
+     * Produce a File capability for the file at the end of this path.  The
+     * returned object is just a handle; the file, and the folders leading to
+     * it, may not yet exist.
+     * @param folder    the folder to start from
+     * @return a capability for the requested file
+     * @throws IllegalArgumentException if <code>folder</code> is null or
+     *     the empty path
+     */
+    public File resolve(final File folder) {
+        // As in Filesystem.file(), either of these gives access to all files.
+        if (folder == null || folder.getPath().equals("")) {
+            throw new IllegalArgumentException();
+        }
+        return new File(folder, platform);
+    }
+
+    /**
+     * Gets the number of names in this path.
+     * @return the number of names
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Gets the names in this path, separated by <code>'/'</code>.
+     * @return the path as it was parsed
+     */
+    public String toString() {
+        return path;
+    }
+
+    public boolean equals(final Object other) {
+        return other instanceof RelativePath &&
+               path.equals(((RelativePath) other).path);
+    }
+
+    public int hashCode() {
+        return path.hashCode();
+    }
+}
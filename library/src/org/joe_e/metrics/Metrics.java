@@ -0,0 +1,213 @@
+// Copyright 2008 Regents of the University of California.  May be used
+// under the terms of the revised BSD license.  See LICENSING for details.
+package org.joe_e.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Counters for the runtime checks performed by the Joe-E library.  Counting
+ * is off unless the JVM is started with the system property
+ * <code>org.joe_e.metrics</code> set to <code>true</code>; when it is off,
+ * each instrumented call site costs one test of a constant.  The exception is
+ * {@link org.joe_e.JoeE#abort}, which is rare enough that it is always
+ * counted.
+ * <p>
+ * Each {@link Probe} keeps a total and a histogram of the classes it was
+ * applied to, so that a {@link #dump() dump} shows which types are paying for
+ * overlay checks.  The counts can also be read over JMX once
+ * {@link #register()} has been called.
+ * <p>
+ * The counts are a nondeterministic, globally shared side channel, so this
+ * class is for use by trusted infrastructure only and is deliberately absent
+ * from the taming database.
+ */
+public final class Metrics implements MetricsMBean {
+
+    /**
+     * Whether counting is turned on for this JVM.
+     */
+    static public final boolean ENABLED = enabledByProperty();
+
+    /**
+     * The JMX name under which {@link #register()} publishes the counts.
+     */
+    static public final String OBJECT_NAME = "org.joe_e:type=Metrics";
+
+    /**
+     * The instrumented checks.
+     */
+    public enum Probe {
+        /** {@link org.joe_e.JoeE#instanceOf} */
+        INSTANCE_OF("JoeE.instanceOf"),
+        /** {@link org.joe_e.JoeE#isSubtypeOf} */
+        IS_SUBTYPE_OF("JoeE.isSubtypeOf"),
+        /** {@link org.joe_e.taming.Policy#honoraryMask} */
+        POLICY_HONORARY("Policy.honoraryMask"),
+        /** {@link org.joe_e.taming.Policy#fieldEnabled} */
+        POLICY_FIELD("Policy.fieldEnabled"),
+        /** {@link org.joe_e.taming.Policy#constructorEnabled} */
+        POLICY_CONSTRUCTOR("Policy.constructorEnabled"),
+        /** {@link org.joe_e.taming.Policy#methodEnabled} */
+        POLICY_METHOD("Policy.methodEnabled"),
+        /** member vetting in {@link org.joe_e.reflect.Reflection} */
+        REFLECTION_SAFE("Reflection.safe"),
+        /** {@link org.joe_e.reflect.Proxies#proxy} */
+        PROXY("Proxies.proxy"),
+        /** element checks made by the array builders */
+        BUILDER_APPEND("ArrayBuilder.append"),
+        /** {@link org.joe_e.JoeE#abort}, by cause; always counted */
+        ABORT("JoeE.abort"),
+        /** failures of an {@link org.joe_e.ErrorHandler} invoked by 
+         *  <code>abort()</code>, by exception type; always counted */
+        ABORT_RETRY("ErrorHandler.handle failure");
+
+        final String label;
+        final StripedCounter total = new StripedCounter();
+        final ConcurrentHashMap<String, StripedCounter> bySubject =
+            new ConcurrentHashMap<String, StripedCounter>();
+
+        private Probe(final String label) {
+            this.label = label;
+        }
+    }
+
+    private Metrics() {}
+
+    static private boolean enabledByProperty() {
+        try {
+            return Boolean.getBoolean("org.joe_e.metrics");
+        } catch (final SecurityException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Counts one firing of a check.  Call sites should test
+     * {@link #ENABLED} first so that the call is skipped entirely when
+     * counting is off.
+     * @param probe   the check that fired
+     * @param subject the class the check was applied to, or
+     *                <code>null</code> to record only the total
+     */
+    static public void count(final Probe probe, final Class<?> subject) {
+        probe.total.increment();
+        if (subject != null) {
+            final String name = subject.getName();
+            StripedCounter c = probe.bySubject.get(name);
+            if (c == null) {
+                final StripedCounter fresh = new StripedCounter();
+                c = probe.bySubject.putIfAbsent(name, fresh);
+                if (c == null) {
+                    c = fresh;
+                }
+            }
+            c.increment();
+        }
+    }
+
+    /**
+     * Gets the number of times a check has fired since the last reset.
+     * @param probe the check
+     * @return the count
+     */
+    static public long total(final Probe probe) {
+        return probe.total.sum();
+    }
+
+    /**
+     * Zeroes all counts.
+     */
+    static public void resetAll() {
+        for (final Probe p : Probe.values()) {
+            p.total.reset();
+            p.bySubject.clear();
+        }
+    }
+
+    /**
+     * Formats all counts, one probe per paragraph, with the classes each was
+     * applied to listed in decreasing order of frequency.
+     * @return a human-readable report
+     */
+    static public String dumpAll() {
+        final StringBuilder text = new StringBuilder();
+        for (final Probe p : Probe.values()) {
+            text.append(p.label).append(' ').append(p.total.sum())
+                .append('\n');
+            final List<Row> rows = new ArrayList<Row>();
+            for (final Map.Entry<String, StripedCounter> e :
+                     p.bySubject.entrySet()) {
+                rows.add(new Row(e.getKey(), e.getValue().sum()));
+            }
+            Collections.sort(rows, new Comparator<Row>() {
+                public int compare(final Row a, final Row b) {
+                    if (a.count != b.count) {
+                        return a.count > b.count ? -1 : 1;
+                    }
+                    return a.name.compareTo(b.name);
+                }
+            });
+            for (final Row row : rows) {
+                text.append("    ").append(row.name).append(' ')
+                    .append(row.count).append('\n');
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Publishes the counts on the platform MBean server under
+     * {@link #OBJECT_NAME}.  Registering more than once has no effect.
+     * @throws JMException the MBean could not be registered
+     */
+    static public void register() throws JMException {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = new ObjectName(OBJECT_NAME);
+        synchronized (Metrics.class) {
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new Metrics(), name);
+            }
+        }
+    }
+
+    // MetricsMBean interface
+
+    public boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public long total(final String probe) {
+        return total(Probe.valueOf(probe));
+    }
+
+    public String dump() {
+        return dumpAll();
+    }
+
+    public void reset() {
+        resetAll();
+    }
+
+    /**
+     * A histogram row for sorting.
+     */
+    static private final class Row {
+        final String name;
+        final long count;
+
+        Row(final String name, final long count) {
+            this.name = name;
+            this.count = count;
+        }
+    }
+}
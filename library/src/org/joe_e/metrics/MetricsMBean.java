@@ -0,0 +1,34 @@
+// Copyright 2008 Regents of the University of California.  May be used
+// under the terms of the revised BSD license.  See LICENSING for details.
+package org.joe_e.metrics;
+
+/**
+ * The JMX management interface of {@link Metrics}.
+ */
+public interface MetricsMBean {
+
+    /**
+     * Is counting turned on?
+     * @return <code>true</code> if the checks are being counted
+     */
+    boolean isEnabled();
+
+    /**
+     * Gets the number of times a check has fired since the last reset.
+     * @param probe the name of a {@link Metrics.Probe} constant
+     * @return the count
+     * @throws IllegalArgumentException <code>probe</code> is not a known probe
+     */
+    long total(String probe);
+
+    /**
+     * Formats all counts.
+     * @return a human-readable report
+     */
+    String dump();
+
+    /**
+     * Zeroes all counts.
+     */
+    void reset();
+}
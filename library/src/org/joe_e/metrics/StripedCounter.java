@@ -0,0 +1,57 @@
+// Copyright 2008 Regents of the University of California.  May be used
+// under the terms of the revised BSD license.  See LICENSING for details.
+package org.joe_e.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A counter that spreads increments over several cells so that threads
+ * counting the same event rarely contend on a single cache line.  Reads sum
+ * all of the cells, so they are more expensive than increments and are not
+ * atomic with respect to concurrent increments.
+ */
+final class StripedCounter {
+    /**
+     * Number of cells; a power of two.
+     */
+    static private final int STRIPES = 16;
+
+    /**
+     * Distance between the cells used, in longs, to keep each on its own
+     * (64-byte) cache line.
+     */
+    static private final int PAD = 8;
+
+    private final AtomicLongArray cells =
+        new AtomicLongArray(STRIPES * PAD);
+
+    /**
+     * Adds one to the count.
+     */
+    void increment() {
+        final int stripe =
+            (int) Thread.currentThread().getId() & (STRIPES - 1);
+        cells.getAndIncrement(stripe * PAD);
+    }
+
+    /**
+     * Sums the cells.
+     * @return the current count
+     */
+    long sum() {
+        long total = 0;
+        for (int i = 0; i < STRIPES; ++i) {
+            total += cells.get(i * PAD);
+        }
+        return total;
+    }
+
+    /**
+     * Zeroes the cells.  Increments that race with this call may be lost.
+     */
+    void reset() {
+        for (int i = 0; i < STRIPES; ++i) {
+            cells.set(i * PAD, 0);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+// Copyright 2008 Regents of the University of California.  May be used
+// under the terms of the revised BSD license.  See LICENSING for details.
+package org.joe_e.reflect;
+
+import java.lang.ref.SoftReference;
+import java.util.WeakHashMap;
+
+/**
+ * A per-class memo table for values that are a fixed function of the class,
+ * such as its vetted members.  Classes are weakly held, so that caching does
+ * not keep their class loaders alive.  Values are softly held, since they
+ * typically refer back to their class and would otherwise keep it reachable.
+ * <p>
+ * This class is for use by the library's own implementation, and is
+ * deliberately absent from the taming database.
+ *
+ * @param <V> the type of value cached
+ */
+public final class ClassCache<V> {
+    private final WeakHashMap<Class<?>, SoftReference<V>> map =
+        new WeakHashMap<Class<?>, SoftReference<V>>();
+
+    /**
+     * Gets the cached value for a class.
+     * @param type  the class
+     * @return the value, or <code>null</code> if none is cached
+     */
+    public synchronized V get(final Class<?> type) {
+        final SoftReference<V> ref = map.get(type);
+        return (ref == null) ? null : ref.get();
+    }
+
+    /**
+     * Caches a value for a class.
+     * @param type  the class
+     * @param value the value
+     */
+    public synchronized void put(final Class<?> type, final V value) {
+        map.put(type, new SoftReference<V>(value));
+    }
+}
@@ -0,0 +1,50 @@
+// Copyright 2008 Regents of the University of California.  May be used
+// under the terms of the revised BSD license.  See LICENSING for details.
+package org.joe_e.reflect;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+
+import org.joe_e.Powerless;
+
+/**
+ * A reflected constructor that has already been checked for use by Joe-E
+ * code.  Obtained from {@link Reflection#invoker(Constructor)}; calling
+ * {@link #construct construct()} repeats none of the checks made by
+ * {@link Reflection#construct}.
+ *
+ * @param <T> the type constructed
+ */
+public final class ConstructorInvoker<T> implements Powerless {
+    private final Constructor<T> ctor;
+
+    ConstructorInvoker(final Constructor<T> ctor) {
+        this.ctor = ctor;
+    }
+
+    /**
+     * Gets the constructor this object invokes.
+     * @return the constructor
+     */
+    public Constructor<T> getConstructor() {
+        return ctor;
+    }
+
+    /**
+     * Invokes the constructor.
+     * @param args   each argument
+     * @return constructed object
+     * @throws ClassCastException  <code>ctor.newInstance()</code> throws an
+     *    <code>IllegalArgumentException</code>, usually due to mismatched types
+     * @throws Exception    an exception thrown by the invoked constructor
+     */
+    public T construct(final Object... args) throws Exception {
+        try {
+            return ctor.newInstance(args);
+        } catch (final IllegalArgumentException e) {
+            throw new ClassCastException(e.getMessage());
+        } catch (final InvocationTargetException e) {
+            throw Reflection.unwrap(e);
+        }
+    }
+}
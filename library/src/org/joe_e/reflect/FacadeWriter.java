@@ -0,0 +1,422 @@
+// Copyright 2008 Regents of the University of California.  May be used
+// under the terms of the revised BSD license.  See LICENSING for details.
+package org.joe_e.reflect;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.joe_e.JoeE;
+import org.joe_e.Selfless;
+
+/**
+ * Generates the source of a facade class: a concrete class that implements
+ * an interface by forwarding each of its methods to a target object of that
+ * interface type.  Like a {@link Proxies#proxy proxy} whose handler forwards
+ * to the target, a facade exposes only the methods of the interface, but its
+ * calls are ordinary virtual calls, with no reflective dispatch and no
+ * argument arrays.
+ * <p>
+ * The interface must pass the same checks as it would for
+ * <code>Proxies.proxy()</code>.  The requirements those checks place on the
+ * invocation handler are met by construction, as the target has the
+ * interface type.  If the interface is {@link Selfless}, two facades are
+ * equal if their targets are.
+ * <p>
+ * The generated source is meant to be added to the program at build time,
+ * for example by running this class's {@link #main main()}.  This class is
+ * for use by trusted build tools only, and is deliberately absent from the
+ * taming database.
+ */
+public final class FacadeWriter {
+
+    private FacadeWriter() {}
+
+    /**
+     * Generates a facade source file.
+     * <p>
+     * Usage: <code>FacadeWriter <i>interface</i> <i>facade</i>
+     * [<i>sourcedir</i>]</code>, where the interface is named by its binary
+     * name and the facade by its fully qualified name.  The source is written
+     * under <i>sourcedir</i> in the directory for its package, or to standard
+     * output if no directory is given.
+     * @param args  command line arguments
+     * @throws Exception    the facade could not be generated
+     */
+    static public void main(final String[] args) throws Exception {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("usage: FacadeWriter interface facade " +
+                               "[sourcedir]");
+            System.exit(1);
+        }
+        final String source = generate(Class.forName(args[0]), args[1]);
+        if (args.length == 2) {
+            System.out.print(source);
+            return;
+        }
+        final File file = new File(args[2],
+                                   args[1].replace('.', File.separatorChar) +
+                                   ".java");
+        file.getParentFile().mkdirs();
+        final Writer out =
+            new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        try {
+            out.write(source);
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Generates the source of a facade class.
+     * @param type  the interface to implement
+     * @param name  fully qualified name of the facade class
+     * @return Java source for the facade class
+     * @throws IllegalArgumentException <code>type</code> is not an interface
+     * @throws ClassCastException   <code>type</code> could not be implemented
+     *                              by <code>Proxies.proxy()</code>
+     */
+    static public String generate(final Class<?> type, final String name) {
+        if (!type.isInterface()) {
+            throw new IllegalArgumentException(type.getName() +
+                                               " is not an interface");
+        }
+        Proxies.shapeOf(new Class<?>[] { type });
+
+        final Map<TypeVariable<?>, Type> bindings =
+            new HashMap<TypeVariable<?>, Type>();
+        bind(type, bindings);
+
+        final int dot = name.lastIndexOf('.');
+        final String simpleName = name.substring(dot + 1);
+        final TypeVariable<?>[] params = type.getTypeParameters();
+        final StringBuilder vars = new StringBuilder();
+        final StringBuilder declaredVars = new StringBuilder();
+        if (params.length != 0) {
+            appendTypeParameters(declaredVars, params, bindings);
+            vars.append('<');
+            for (int i = 0; i != params.length; ++i) {
+                vars.append(i == 0 ? "" : ", ").append(params[i].getName());
+            }
+            vars.append('>');
+        }
+        final String iface = type.getCanonicalName() + vars;
+
+        final StringWriter text = new StringWriter();
+        final PrintWriter out = new PrintWriter(text);
+        out.println("// This file is auto-generated by " +
+                    FacadeWriter.class.getName() + " from");
+        out.println("// " + type.getName() +
+                    ", and should not be edited directly.");
+        if (dot != -1) {
+            out.println("package " + name.substring(0, dot) + ";");
+        }
+        out.println();
+        out.println("/**");
+        out.println(" * Forwards {@link " + type.getCanonicalName() +
+                    "} to a target.");
+        out.println(" */");
+        out.println("public final class " + simpleName + declaredVars +
+                    " implements " + iface + " {");
+        out.println("    private final " + iface + " target;");
+        out.println();
+        out.println("    /**");
+        out.println("     * Constructs a facade.");
+        out.println("     * @param target   object to forward to");
+        out.println("     * @throws NullPointerException " +
+                    "<code>target</code> is <code>null</code>");
+        out.println("     */");
+        out.println("    public " + simpleName + "(final " + iface +
+                    " target) {");
+        out.println("        if (target == null) {");
+        out.println("            throw new NullPointerException();");
+        out.println("        }");
+        out.println("        this.target = target;");
+        out.println("    }");
+
+        for (final Forward f : forwarded(type)) {
+            out.println();
+            writeMethod(out, f, bindings);
+        }
+
+        if (JoeE.isSubtypeOf(type, Selfless.class)) {
+            final String wild = params.length == 0 ? "" : wildcards(params);
+            out.println();
+            out.println("    public boolean equals(final Object other) {");
+            out.println("        return other instanceof " + simpleName +
+                        " &&");
+            out.println("               target.equals(((" + simpleName +
+                        wild + ") other).target);");
+            out.println("    }");
+            out.println();
+            out.println("    public int hashCode() {");
+            out.println("        return target.hashCode();");
+            out.println("    }");
+        }
+        out.println("}");
+        out.flush();
+        return text.toString();
+    }
+
+    /**
+     * A method to forward, with the exceptions the forwarding method may
+     * declare.
+     */
+    static private final class Forward {
+        final Method method;
+        final List<Type> thrown;
+
+        Forward(final Method method, final List<Type> thrown) {
+            this.method = method;
+            this.thrown = thrown;
+        }
+    }
+
+    /**
+     * Gets the methods to forward, one per signature, in a deterministic
+     * order.  Methods of <code>Object</code> redeclared by the interface are
+     * left to the facade's own implementation.  Where superinterfaces declare
+     * the same signature, the one with the most specific return type is
+     * kept, and only the exceptions allowed by every declaration are
+     * thrown.
+     */
+    static private List<Forward> forwarded(final Class<?> type) {
+        final HashMap<String, Forward> bySignature =
+            new HashMap<String, Forward>();
+        for (final Method m : type.getMethods()) {
+            if (Modifier.isStatic(m.getModifiers())) {
+                continue;
+            }
+            try {
+                Object.class.getMethod(m.getName(), m.getParameterTypes());
+                continue;
+            } catch (final NoSuchMethodException e) {}
+            final StringBuilder key = new StringBuilder(m.getName());
+            for (final Class<?> p : m.getParameterTypes()) {
+                key.append(',').append(p.getName());
+            }
+            final List<Type> thrown =
+                Arrays.asList(m.getGenericExceptionTypes());
+            final Forward prior = bySignature.get(key.toString());
+            if (prior == null) {
+                bySignature.put(key.toString(), new Forward(m, thrown));
+            } else {
+                final Method kept =
+                    prior.method.getReturnType().isAssignableFrom(
+                        m.getReturnType()) ? m : prior.method;
+                bySignature.put(key.toString(),
+                    new Forward(kept, intersect(prior.thrown, thrown)));
+            }
+        }
+        final List<Forward> r =
+            new ArrayList<Forward>(bySignature.values());
+        Collections.sort(r, new Comparator<Forward>() {
+            public int compare(final Forward a, final Forward b) {
+                final int n =
+                    a.method.getName().compareTo(b.method.getName());
+                return n != 0 ? n : a.method.toString().compareTo(
+                                                    b.method.toString());
+            }
+        });
+        return r;
+    }
+
+    /**
+     * Gets the exceptions that may be declared by a method implementing two
+     * declarations: those of each list that are covered by the other.
+     */
+    static private List<Type> intersect(final List<Type> a,
+                                        final List<Type> b) {
+        final List<Type> r = new ArrayList<Type>();
+        for (final Type t : a) {
+            if (covered(t, b)) {
+                r.add(t);
+            }
+        }
+        for (final Type t : b) {
+            if (covered(t, a) && !r.contains(t)) {
+                r.add(t);
+            }
+        }
+        return r;
+    }
+
+    /**
+     * Is an exception type the same as, or a subclass of, one of a list?
+     */
+    static private boolean covered(final Type t, final List<Type> by) {
+        final Class<?> erased = erasure(t);
+        for (final Type u : by) {
+            if (u.equals(t) || (u instanceof Class<?> && erased != null &&
+                                ((Class<?>) u).isAssignableFrom(erased))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static private Class<?> erasure(final Type t) {
+        if (t instanceof Class<?>) {
+            return (Class<?>) t;
+        } else if (t instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) t).getRawType();
+        } else if (t instanceof TypeVariable<?>) {
+            return erasure(((TypeVariable<?>) t).getBounds()[0]);
+        } else {
+            return null;
+        }
+    }
+
+    static private void writeMethod(final PrintWriter out, final Forward f,
+                                    final Map<TypeVariable<?>, Type> bindings) {
+        final Method m = f.method;
+        final StringBuilder sig = new StringBuilder("    public ");
+        if (m.getTypeParameters().length != 0) {
+            appendTypeParameters(sig, m.getTypeParameters(), bindings);
+            sig.append(' ');
+        }
+        appendType(sig, m.getGenericReturnType(), bindings);
+        sig.append(' ').append(m.getName()).append('(');
+        final Type[] params = m.getGenericParameterTypes();
+        final StringBuilder call = new StringBuilder();
+        for (int i = 0; i != params.length; ++i) {
+            if (i != 0) {
+                sig.append(", ");
+                call.append(", ");
+            }
+            sig.append("final ");
+            appendType(sig, params[i], bindings);
+            if (m.isVarArgs() && i == params.length - 1) {
+                sig.setLength(sig.length() - 2);    // the trailing []
+                sig.append("...");
+            }
+            sig.append(" a").append(i);
+            call.append('a').append(i);
+        }
+        sig.append(')');
+        for (int i = 0; i != f.thrown.size(); ++i) {
+            sig.append(i == 0 ? " throws " : ", ");
+            appendType(sig, f.thrown.get(i), bindings);
+        }
+        out.println(sig.append(" {"));
+        out.println("        " + (m.getReturnType() == void.class ? ""
+                                                               : "return ") +
+                    "target." + m.getName() + "(" + call + ");");
+        out.println("    }");
+    }
+
+    /**
+     * Records what each type variable of the superinterfaces of a type is
+     * bound to.  The bindings may refer to other bound variables, which
+     * {@link #appendType} replaces in turn.
+     */
+    static private void bind(final Class<?> type,
+                             final Map<TypeVariable<?>, Type> bindings) {
+        for (final Type t : type.getGenericInterfaces()) {
+            if (t instanceof ParameterizedType) {
+                final ParameterizedType p = (ParameterizedType) t;
+                final Class<?> raw = (Class<?>) p.getRawType();
+                final TypeVariable<?>[] vars = raw.getTypeParameters();
+                final Type[] args = p.getActualTypeArguments();
+                for (int i = 0; i != vars.length; ++i) {
+                    bindings.put(vars[i], args[i]);
+                }
+                bind(raw, bindings);
+            } else {
+                bind((Class<?>) t, bindings);
+            }
+        }
+    }
+
+    static private void appendTypeParameters(final StringBuilder sb,
+                                   final TypeVariable<?>[] params,
+                                   final Map<TypeVariable<?>, Type> bindings) {
+        sb.append('<');
+        for (int i = 0; i != params.length; ++i) {
+            sb.append(i == 0 ? "" : ", ").append(params[i].getName());
+            final Type[] bounds = params[i].getBounds();
+            if (bounds.length == 1 && bounds[0] == Object.class) {
+                continue;
+            }
+            for (int j = 0; j != bounds.length; ++j) {
+                sb.append(j == 0 ? " extends " : " & ");
+                appendType(sb, bounds[j], bindings);
+            }
+        }
+        sb.append('>');
+    }
+
+    static private String wildcards(final TypeVariable<?>[] params) {
+        final StringBuilder sb = new StringBuilder("<");
+        for (int i = 0; i != params.length; ++i) {
+            sb.append(i == 0 ? "?" : ", ?");
+        }
+        return sb.append('>').toString();
+    }
+
+    /**
+     * Appends the source form of a type, with inherited type variables
+     * replaced by what they are bound to.
+     */
+    static private void appendType(final StringBuilder sb, final Type type,
+                                   final Map<TypeVariable<?>, Type> bindings) {
+        if (type instanceof Class<?>) {
+            final Class<?> c = (Class<?>) type;
+            if (c.isArray()) {
+                appendType(sb, c.getComponentType(), bindings);
+                sb.append("[]");
+            } else {
+                sb.append(c.getName().replace('$', '.'));
+            }
+        } else if (type instanceof ParameterizedType) {
+            final ParameterizedType p = (ParameterizedType) type;
+            appendType(sb, p.getRawType(), bindings);
+            final Type[] args = p.getActualTypeArguments();
+            for (int i = 0; i != args.length; ++i) {
+                sb.append(i == 0 ? "<" : ", ");
+                appendType(sb, args[i], bindings);
+            }
+            sb.append('>');
+        } else if (type instanceof TypeVariable<?>) {
+            final Type bound = bindings.get(type);
+            if (bound != null) {
+                appendType(sb, bound, bindings);
+            } else {
+                sb.append(((TypeVariable<?>) type).getName());
+            }
+        } else if (type instanceof WildcardType) {
+            final WildcardType w = (WildcardType) type;
+            sb.append('?');
+            if (w.getLowerBounds().length != 0) {
+                sb.append(" super ");
+                appendType(sb, w.getLowerBounds()[0], bindings);
+            } else if (w.getUpperBounds()[0] != Object.class) {
+                sb.append(" extends ");
+                appendType(sb, w.getUpperBounds()[0], bindings);
+            }
+        } else if (type instanceof GenericArrayType) {
+            appendType(sb, ((GenericArrayType) type).getGenericComponentType(),
+                       bindings);
+            sb.append("[]");
+        } else {
+            throw new IllegalArgumentException(type.toString());
+        }
+    }
+}
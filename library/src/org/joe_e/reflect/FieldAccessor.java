@@ -0,0 +1,49 @@
+// Copyright 2008 Regents of the University of California.  May be used
+// under the terms of the revised BSD license.  See LICENSING for details.
+package org.joe_e.reflect;
+
+import java.lang.reflect.Field;
+
+import org.joe_e.Powerless;
+
+/**
+ * A reflected field that has already been checked for use by Joe-E code.
+ * Obtained from {@link Reflection#accessor}; its methods repeat none of the
+ * checks made by {@link Reflection#get} and {@link Reflection#set}.
+ */
+public final class FieldAccessor implements Powerless {
+    private final Field field;
+
+    FieldAccessor(final Field field) {
+        this.field = field;
+    }
+
+    /**
+     * Gets the field this object accesses.
+     * @return the field
+     */
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * Gets the value of the field.
+     * @param self  target object
+     * @return field value
+     * @throws IllegalAccessException   <code>field</code> is inaccessible
+     */
+    public Object get(final Object self) throws IllegalAccessException {
+        return field.get(self);
+    }
+
+    /**
+     * Sets the value of the field.
+     * @param self  target object
+     * @param value new value
+     * @throws IllegalAccessException   <code>field</code> is final
+     */
+    public void set(final Object self, final Object value)
+                                        throws IllegalAccessException {
+        field.set(self, value);
+    }
+}
@@ -0,0 +1,50 @@
+// Copyright 2008 Regents of the University of California.  May be used
+// under the terms of the revised BSD license.  See LICENSING for details.
+package org.joe_e.reflect;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.joe_e.Powerless;
+
+/**
+ * A reflected method that has already been checked for use by Joe-E code.
+ * Obtained from {@link Reflection#invoker(Method)}; calling
+ * {@link #invoke invoke()} repeats none of the checks made by
+ * {@link Reflection#invoke}.
+ */
+public final class MethodInvoker implements Powerless {
+    private final Method method;
+
+    MethodInvoker(final Method method) {
+        this.method = method;
+    }
+
+    /**
+     * Gets the method this object invokes.
+     * @return the method
+     */
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * Invokes the method.
+     * @param self  target object
+     * @param args  each argument
+     * @return invocation return
+     * @throws ClassCastException  <code>method.invoke()</code> throws an
+     *    <code>IllegalArgumentException</code>, usually due to mismatched types
+     * @throws Exception    an exception thrown by the invoked method
+     */
+    public Object invoke(final Object self, final Object... args)
+                                                        throws Exception {
+        try {
+            return method.invoke(self, args);
+        } catch (final IllegalArgumentException e) {
+            throw new ClassCastException();
+        } catch (final InvocationTargetException e) {
+            throw Reflection.unwrap(e);
+        }
+    }
+}
@@ -2,15 +2,19 @@
 // under the terms of the revised BSD license.  See LICENSING for details.
 package org.joe_e.reflect;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Proxy;
+import java.util.Arrays;
 
 import org.joe_e.Equatable;
 import org.joe_e.Immutable;
 import org.joe_e.JoeE;
 import org.joe_e.Powerless;
 import org.joe_e.Selfless;
+import org.joe_e.metrics.Metrics;
 
 /**
  * The dynamic proxy interface.  This is a wrapper around Java's dynamic proxy
@@ -36,6 +40,12 @@ public final class Proxies {
 
     /**
      * Constructs a dynamic proxy.
+     * <p>
+     * The checks on an interface list, and the proxy class that implements
+     * it, are worked out the first time the list is seen and then reused, so
+     * that making many proxies of the same shape costs little more than a
+     * constructor call and a check of the handler's type.
+     * </p>
      * @param handler invocation handler
      * @param interfaces each implemented interface
      * @return dynamic proxy
@@ -49,7 +59,93 @@ public final class Proxies {
         if (handler == null || interfaces == null) {
             throw new NullPointerException();
         }
+        if (Metrics.ENABLED) {
+            Metrics.count(Metrics.Probe.PROXY, handler.getClass());
+        }
+        
+        final Shape shape = shapeOf(interfaces);
+        if (shape.powerless) {
+            if (!JoeE.instanceOf(handler, Powerless.class)) {
+                throw new ClassCastException();
+            }
+        } else if (shape.immutable) {
+            if (!JoeE.instanceOf(handler, Immutable.class)) {
+                throw new ClassCastException();
+            }
+        }
+        try {
+            return shape.ctor.newInstance(handler);
+        } catch (final InvocationTargetException e) {
+            // Proxy constructors just store the handler.
+            throw new ClassCastException(e.getCause().toString());
+        } catch (final InstantiationException e) {
+            throw new ClassCastException(e.getMessage());
+        } catch (final IllegalAccessException e) {
+            throw new ClassCastException(e.getMessage());
+        }
+    }
+    
+    /**
+     * A checked interface list and the proxy class that implements it.
+     * Shapes with the same first interface are chained together.
+     */
+    static final class Shape {
+        final Class<?>[] interfaces;    // a private copy
+        final Constructor<?> ctor;      // takes the InvocationHandler
+        final boolean powerless;        // Must the handler be Powerless?
+        final boolean immutable;        // Must the handler be Immutable?
+        final Shape next;
+        
+        Shape(final Class<?>[] interfaces, final Constructor<?> ctor,
+              final boolean powerless, final boolean immutable, 
+              final Shape next) {
+            this.interfaces = interfaces;
+            this.ctor = ctor;
+            this.powerless = powerless;
+            this.immutable = immutable;
+            this.next = next;
+        }
+    }
+    
+    /**
+     * Shapes, keyed by first interface.  Proxies with no interfaces are filed
+     * under <code>Proxy</code>.
+     */
+    static private final ClassCache<Shape> shapes = new ClassCache<Shape>();
+    
+    /**
+     * Gets the checked shape of an interface list.
+     * @param interfaces each implemented interface
+     * @return the shape
+     * @throws ClassCastException   a restriction on the
+     *                              <code>types</code> is violated
+     */
+    static Shape shapeOf(final Class<?>[] interfaces) {
+        final Class<?> key = interfaces.length == 0 ? Proxy.class 
+                                                    : interfaces[0];
+        final Shape first = shapes.get(key);
+        for (Shape s = first; s != null; s = s.next) {
+            if (Arrays.equals(s.interfaces, interfaces)) {
+                return s;
+            }
+        }
         
+        // Racing threads may each add a shape; the loser's is just dropped.
+        final Shape fresh = check(interfaces.clone(), first);
+        shapes.put(key, fresh);
+        return fresh;
+    }
+    
+    /**
+     * Performs the Joe-E auditor checks on an interface list, and finds the
+     * proxy class that implements it.
+     * @param interfaces each implemented interface
+     * @param next  the shape to chain the result to
+     * @return the checked shape
+     * @throws ClassCastException   a restriction on the
+     *                              <code>types</code> is violated
+     */
+    static private Shape check(final Class<?>[] interfaces, final Shape next) {
         // Determine the classloader.
         ClassLoader proxyLoader = boot;
         
@@ -65,21 +161,14 @@ public final class Proxies {
                 throw new ClassCastException();
             }
             
-            // Perform Joe-E auditor checks.
+            // Perform Joe-E auditor checks.  Those on the handler are
+            // recorded, to be made by proxy().
             if (!powerless && JoeE.isSubtypeOf(i, Powerless.class)) {
-                if (JoeE.instanceOf(handler, Powerless.class)) {
-                    powerless = true;
-                    immutable = true;
-                } else {
-                    throw new ClassCastException();
-                }
+                powerless = true;
+                immutable = true;
             }
             if (!immutable && JoeE.isSubtypeOf(i, Immutable.class)) {
-                if (JoeE.instanceOf(handler, Immutable.class)) {
-                    immutable = true;
-                } else {
-                    throw new ClassCastException();
-                }
+                immutable = true;
             }
             if (!equatable && JoeE.isSubtypeOf(i, Equatable.class)) {
                 // No additional checks are needed here, as we know that Proxy
@@ -117,12 +206,37 @@ public final class Proxies {
             }
         }
         try {
-            return Proxy.newProxyInstance(proxyLoader, interfaces, handler);
+            return new Shape(interfaces, 
+                             proxyConstructor(proxyLoader, interfaces),
+                             powerless, immutable, next);
         } catch (final IllegalArgumentException e) {
             throw new ClassCastException(e.getMessage());
+        } catch (final NoSuchMethodException e) {
+            throw new ClassCastException(e.getMessage());
         }
     }
 
+    /**
+     * Finds the constructor of the proxy class for an interface list.
+     * <p>
+     * <code>Proxy.getProxyClass()</code> is deprecated in later releases of
+     * Java, but this library targets Java 5, which has no other way to get
+     * at the proxy class, so the warning is suppressed here.
+     * </p>
+     * @param loader    class loader to define the proxy class in
+     * @param interfaces each implemented interface
+     * @return the constructor taking an <code>InvocationHandler</code>
+     * @throws IllegalArgumentException the proxy class cannot be defined
+     * @throws NoSuchMethodException    the constructor is missing
+     */
+    @SuppressWarnings("deprecation")
+    static private Constructor<?> proxyConstructor(final ClassLoader loader,
+                                                   final Class<?>[] interfaces)
+                                                throws NoSuchMethodException {
+        return Proxy.getProxyClass(loader, interfaces).
+            getConstructor(InvocationHandler.class);
+    }
+
     /**
      * Returns <code>true</code> if the argument is an interface that can be
      * implemented by a Proxy using <code>proxy()</code>.
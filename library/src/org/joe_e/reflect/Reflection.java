@@ -10,10 +10,10 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.Comparator;
-import java.util.regex.Pattern;
 
 import org.joe_e.IsJoeE;
 import org.joe_e.array.PowerlessArray;
+import org.joe_e.metrics.Metrics;
 import org.joe_e.taming.Policy;
 
 /**
@@ -25,12 +25,15 @@ import org.joe_e.taming.Policy;
  * If you can do something with the reflection API, you could also have done
  * it using static Joe-E code. The only difference is expressivity.
  * </p>
+ * <p>
+ * The lists of a class's fields, constructors and methods are computed once
+ * per class and then shared, as neither the class nor the taming policy can
+ * change.
+ * </p>
  */
 public final class Reflection {
     private Reflection() {}
 
-    static final Pattern UNQUALIFY = 
-        Pattern.compile("[^\\(<> ]*\\.([^<> \\.]*)");
     /*
      * Methods for obtaining reflective objects
      */
@@ -63,6 +66,18 @@ public final class Reflection {
      * @return described fields
      */
     static public PowerlessArray<Field> fields(final Class<?> type) {
+        PowerlessArray<Field> r = fieldCache.get(type);
+        if (r == null) {
+            r = vetFields(type);
+            fieldCache.put(type, r);
+        }
+        return r;
+    }
+
+    static private final ClassCache<PowerlessArray<Field>> fieldCache =
+        new ClassCache<PowerlessArray<Field>>();
+
+    static private PowerlessArray<Field> vetFields(final Class<?> type) {
         Field[] fs = type.getFields();
 
         // Filter the members.
@@ -77,22 +92,25 @@ public final class Reflection {
         if (fs.length != n) { 
             System.arraycopy(fs, 0, fs = new Field[n], 0, n);
         }
-        Arrays.sort(fs, new Comparator<Field>() {
-            public int compare(final Field a, final Field b) {
-                int diff = a.getName().compareTo(b.getName());
-                if (diff == 0) {
-                    diff = a.getDeclaringClass().getName().compareTo(
-                               b.getDeclaringClass().getName());
-                    // Class.getName() fine as long as fields belonging to
-                    // proxy classes are never safe().
-                }
-                return diff;
-            }
-        });
+        Arrays.sort(fs, fieldOrder);
 
         return PowerlessArray.array(fs);
     }
 
+    static private final Comparator<Field> fieldOrder = 
+                                                new Comparator<Field>() {
+        public int compare(final Field a, final Field b) {
+            int diff = a.getName().compareTo(b.getName());
+            if (diff == 0) {
+                diff = a.getDeclaringClass().getName().compareTo(
+                           b.getDeclaringClass().getName());
+                // Class.getName() fine as long as fields belonging to
+                // proxy classes are never safe().
+            }
+            return diff;
+        }
+    };
+
     /**
      * Gets a public constructor.
      * <p>
@@ -129,7 +147,19 @@ public final class Reflection {
 
     static public PowerlessArray<Constructor<?>> 
                                         constructors(final Class<?> type) {
-    
+        PowerlessArray<Constructor<?>> r = constructorCache.get(type);
+        if (r == null) {
+            r = vetConstructors(type);
+            constructorCache.put(type, r);
+        }
+        return r;
+    }
+
+    static private final ClassCache<PowerlessArray<Constructor<?>>> 
+        constructorCache = new ClassCache<PowerlessArray<Constructor<?>>>();
+
+    static private PowerlessArray<Constructor<?>> 
+                                    vetConstructors(final Class<?> type) {
         Constructor<?>[] cs = type.getConstructors();
 
         // Filter the members.
@@ -144,22 +174,24 @@ public final class Reflection {
         if (cs.length != n) { 
             System.arraycopy(cs, 0, cs = new Constructor[n], 0, n); 
         }
-        Arrays.sort(cs, new Comparator<Constructor<?>>() {
-            public int compare(final Constructor<?> a, final Constructor<?> b) {
-                final Class<?>[] pa = a.getParameterTypes();
-                final Class<?>[] pb = b.getParameterTypes();
-                int diff = pa.length - pb.length;
-                for (int i = 0; diff == 0 && i < pa.length; ++i) {
-                    diff = pa[i].getName().compareTo(pb[i].getName());
-                    // OK since compiled types don't change
-                }
-                return diff;
-            }
-        });
+        Arrays.sort(cs, constructorOrder);
 
         return PowerlessArray.array(cs);
     }
-    
+
+    static private final Comparator<Constructor<?>> constructorOrder =
+                                            new Comparator<Constructor<?>>() {
+        public int compare(final Constructor<?> a, final Constructor<?> b) {
+            final Class<?>[] pa = a.getParameterTypes();
+            final Class<?>[] pb = b.getParameterTypes();
+            int diff = pa.length - pb.length;
+            for (int i = 0; diff == 0 && i < pa.length; ++i) {
+                diff = pa[i].getName().compareTo(pb[i].getName());
+                // OK since compiled types don't change
+            }
+            return diff;
+        }
+    };
 
     /**
      * Gets a public method.
@@ -191,6 +223,18 @@ public final class Reflection {
      * @return described methods
      */
     static public PowerlessArray<Method> methods(final Class<?> type) {
+        PowerlessArray<Method> r = methodCache.get(type);
+        if (r == null) {
+            r = vetMethods(type);
+            methodCache.put(type, r);
+        }
+        return r;
+    }
+
+    static private final ClassCache<PowerlessArray<Method>> methodCache =
+        new ClassCache<PowerlessArray<Method>>();
+
+    static private PowerlessArray<Method> vetMethods(final Class<?> type) {
         Method[] ms = type.getMethods();
 
         // Filter the members.
@@ -205,32 +249,35 @@ public final class Reflection {
         if (ms.length != n) { 
             System.arraycopy(ms, 0, ms = new Method[n], 0, n); 
         }
-        Arrays.sort(ms, new Comparator<Method>() {
-            public int compare(final Method a, final Method b) {
-                int diff = a.getName().compareTo(b.getName());
+        Arrays.sort(ms, methodOrder);
+
+        return PowerlessArray.array(ms);
+    }
+
+    static private final Comparator<Method> methodOrder =
+                                                new Comparator<Method>() {
+        public int compare(final Method a, final Method b) {
+            int diff = a.getName().compareTo(b.getName());
+            if (diff == 0) {
+                diff = a.getDeclaringClass().getName().compareTo(
+                        b.getDeclaringClass().getName());
+                // Class.getName() fine as long as methods belonging to
+                // proxy classes are never safe().
                 if (diff == 0) {
-                    diff = a.getDeclaringClass().getName().compareTo(
-                            b.getDeclaringClass().getName());
-                    // Class.getName() fine as long as methods belonging to
-                    // proxy classes are never safe().
-                    if (diff == 0) {
-                        final Class<?>[] pa = a.getParameterTypes();
-                        final Class<?>[] pb = b.getParameterTypes();
-                        if (pa.length != pb.length) {
-                            diff = pa.length - pb.length;
-                        }
-                        for (int i = 0; diff == 0 && i < pa.length; ++i) {
-                            diff = pa[i].getName().compareTo(pb[i].getName());
-                        }
-                        // OK since compiled types don't change
+                    final Class<?>[] pa = a.getParameterTypes();
+                    final Class<?>[] pb = b.getParameterTypes();
+                    if (pa.length != pb.length) {
+                        diff = pa.length - pb.length;
                     }
+                    for (int i = 0; diff == 0 && i < pa.length; ++i) {
+                        diff = pa[i].getName().compareTo(pb[i].getName());
+                    }
+                    // OK since compiled types don't change
                 }
-                return diff;
             }
-        });
-
-        return PowerlessArray.array(ms);
-    }
+            return diff;
+        }
+    };
 
     /**
      * Get the name of the entity represented by a <code>Class</code> object,
@@ -263,6 +310,9 @@ public final class Reflection {
      */
     static private boolean safe(final Member member) {
         final Class<?> declarer = member.getDeclaringClass();
+        if (Metrics.ENABLED) {
+            Metrics.count(Metrics.Probe.REFLECTION_SAFE, declarer);
+        }
         // safe if declared in a Joe-E package
         final Package pkg = declarer.getPackage();
         // getPackage returns null for proxy classes
@@ -271,26 +321,68 @@ public final class Reflection {
         }
         
         // getName() is the binary name, possibly with $'s
-        StringBuilder sb = new StringBuilder(declarer.getName());
+        final StringBuilder sb = new StringBuilder(80);
+        sb.append(declarer.getName());
         if (member instanceof Field) {
-            sb.append("." + member.getName());
+            sb.append('.').append(member.getName());
+            if (Metrics.ENABLED) {
+                Metrics.count(Metrics.Probe.POLICY_FIELD, declarer);
+            }
             return Policy.fieldEnabled(sb.toString());
         }
         else if (member instanceof Constructor<?>) {
-            String stringForm = member.toString();
-            String args = stringForm.substring(stringForm.indexOf('('),
-                                               stringForm.indexOf(')') + 1);
-            sb.append(UNQUALIFY.matcher(args).replaceAll("$1"));
+            appendParameters(sb, 
+                             ((Constructor<?>) member).getParameterTypes());
+            if (Metrics.ENABLED) {
+                Metrics.count(Metrics.Probe.POLICY_CONSTRUCTOR, declarer);
+            }
             return Policy.constructorEnabled(sb.toString());
         } else { // member instanceof Method
-            sb.append("." + member.getName());
-            String stringForm = member.toString();
-            String args = stringForm.substring(stringForm.indexOf('('),
-                                               stringForm.indexOf(')') + 1);
-            sb.append(UNQUALIFY.matcher(args).replaceAll("$1"));
+            sb.append('.').append(member.getName());
+            appendParameters(sb, ((Method) member).getParameterTypes());
+            if (Metrics.ENABLED) {
+                Metrics.count(Metrics.Probe.POLICY_METHOD, declarer);
+            }
             return Policy.methodEnabled(sb.toString());
         }
     }
+    
+    /**
+     * Appends a parameter list in the form used by the taming database,
+     * e.g. <code>(String, int, Entry[])</code>: the simple names of the
+     * types, separated by a comma and a space.
+     * @param sb        the signature being built
+     * @param params    each parameter type
+     */
+    static private void appendParameters(final StringBuilder sb, 
+                                         final Class<?>[] params) {
+        sb.append('(');
+        for (int i = 0; i != params.length; ++i) {
+            if (i != 0) {
+                sb.append(", ");
+            }
+            appendSimpleName(sb, params[i]);
+        }
+        sb.append(')');
+    }
+    
+    /**
+     * Appends the name of a type without its package or enclosing classes.
+     * @param sb    the signature being built
+     * @param type  the type to name
+     */
+    static private void appendSimpleName(final StringBuilder sb, 
+                                         final Class<?> type) {
+        if (type.isArray()) {
+            appendSimpleName(sb, type.getComponentType());
+            sb.append("[]");
+        } else {
+            final String name = type.getName();
+            final int start = Math.max(name.lastIndexOf('.'), 
+                                       name.lastIndexOf('$')) + 1;
+            sb.append(name, start, name.length());
+        }
+    }
         
     /*
      * Methods for using reflective objects
@@ -346,11 +438,7 @@ public final class Reflection {
         } catch (final IllegalArgumentException e) {
             throw new ClassCastException(e.getMessage());
         } catch (final InvocationTargetException e) {
-            final Throwable cause = e.getCause();
-            if (cause instanceof Error) { 
-                throw (Error) cause;
-            }
-            throw (Exception) cause;
+            throw unwrap(e);
         }
     }
 
@@ -375,11 +463,74 @@ public final class Reflection {
         } catch (final IllegalArgumentException e) {
             throw new ClassCastException();
         } catch (final InvocationTargetException e) {
-            final Throwable cause = e.getCause();
-            if (cause instanceof Error) { 
-                throw (Error) cause;
-            }
-            throw (Exception) cause;
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Gets the exception to rethrow for a failed invocation.
+     * @param e wrapper of the exception thrown by the invoked member
+     * @return the wrapped exception
+     * @throws Error    the wrapped error
+     */
+    static Exception unwrap(final InvocationTargetException e) {
+        final Throwable cause = e.getCause();
+        if (cause instanceof Error) { 
+            throw (Error) cause;
+        }
+        return (Exception) cause;
+    }
+
+    /*
+     * Methods for obtaining pre-checked invokers
+     */
+
+    /**
+     * Gets an accessor for a field.  The checks made by {@link #get} and 
+     * {@link #set} are made once, here, instead of on each access.
+     * @param field  field to access
+     * @return accessor for <code>field</code>
+     * @throws IllegalAccessException   <code>field</code> is inaccessible
+     */
+    static public FieldAccessor accessor(final Field field) 
+                                        throws IllegalAccessException {
+        if (!Modifier.isPublic(field.getDeclaringClass().getModifiers()) ||
+                !safe(field)) {
+            throw new IllegalAccessException();
+        }
+        return new FieldAccessor(field);
+    }
+
+    /**
+     * Gets an invoker for a constructor.  The checks made by 
+     * {@link #construct} are made once, here, instead of on each call.
+     * @param ctor  constructor to invoke
+     * @return invoker for <code>ctor</code>
+     * @throws IllegalAccessException   <code>ctor</code> is inaccessible
+     */
+    static public <T> ConstructorInvoker<T> 
+                invoker(final Constructor<T> ctor) 
+                                        throws IllegalAccessException {
+        if (!Modifier.isPublic(ctor.getDeclaringClass().getModifiers()) ||
+                !safe(ctor)) {
+            throw new IllegalAccessException();
+        }
+        return new ConstructorInvoker<T>(ctor);
+    }
+
+    /**
+     * Gets an invoker for a method.  The checks made by {@link #invoke} are
+     * made once, here, instead of on each call.
+     * @param method  method to invoke
+     * @return invoker for <code>method</code>
+     * @throws IllegalAccessException   <code>method</code> is inaccessible
+     */
+    static public MethodInvoker invoker(final Method method) 
+                                        throws IllegalAccessException {
+        if (!Modifier.isPublic(method.getDeclaringClass().getModifiers()) ||
+                !safe(method)) {
+            throw new IllegalAccessException();
         }
+        return new MethodInvoker(method);
     }
 }
@@ -5,11 +5,12 @@ import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.channels.*;
 import java.nio.charset.Charset;
-import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CharsetEncoder;
 import java.util.Map;
 import java.util.HashMap;
 
+import org.joe_e.charset.ASCII;
+
 public class Connection {
 	Map<String, Service> services;
 	Service defaultService;
@@ -28,6 +29,7 @@ public class Connection {
 	StringBuilder sb;
 	
 	CharsetEncoder ce;
+	ASCII.Decoder cd;
 	
 	Connection(Map<String, Service> services, Service defaultService, SocketChannel sc, PrintStream debugOut) {
 		this.services = services;
@@ -42,6 +44,7 @@ public class Connection {
 		bb = ByteBuffer.allocate(4096);
 		sb = new StringBuilder();
 		ce = Charset.forName("US-ASCII").newEncoder();
+		cd = new ASCII.Decoder();
 	}
 	
 	int newData() 
@@ -54,9 +57,7 @@ public class Connection {
 				// TODO: 'contents', if any present, may not be in ASCII; need to walk byte
 				// stream to see how much to decode (to first \r\n\r\n), for which I'd have to write
 				// my own grep code.  Not happening today.
-				CharsetDecoder decoder = Charset.forName("US-ASCII").newDecoder();
-				CharBuffer result = decoder.decode(bb);
-				sb = sb.append(result);
+				cd.decode(bb, sb);
 				bb.clear();
 				numBytesRead = sc.read(bb);
 			} 
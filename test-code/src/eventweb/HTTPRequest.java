@@ -3,6 +3,9 @@ package eventweb;
 import java.util.Map;
 import java.util.HashMap;
 
+import org.joe_e.charset.Parameters;
+import org.joe_e.charset.URLEncoding;
+
 public class HTTPRequest {
 	/* TODO?
 	enum Method {
@@ -59,4 +62,16 @@ public class HTTPRequest {
 			headers.put(currentKey, currentValue);
 		}
 	}
+	
+	/**
+	 * Decodes the query string, the part of requestURI after '?'.  This is
+	 * only done when asked for, so that a malformed query does not stop the
+	 * rest of the request from being handled.
+	 * @return the query parameters, which are empty if there is no query
+	 * @throws IllegalArgumentException if the query has a malformed escape
+	 */
+	public Parameters getQuery() {
+		int questionMark = requestURI.indexOf('?');
+		return URLEncoding.parse(questionMark == -1 ? "" : requestURI.substring(questionMark + 1));
+	}
 }
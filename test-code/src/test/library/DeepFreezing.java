@@ -0,0 +1,87 @@
+package test.library;
+
+import java.util.ArrayList;
+
+import org.joe_e.DeepFreeze;
+import org.joe_e.Token;
+import org.joe_e.array.ConstArray;
+
+public class DeepFreezing {
+    static final class Pair {
+        final Object first;
+        final Object second;
+        final int count;
+        
+        Pair(Object first, Object second, int count) {
+            this.first = first;
+            this.second = second;
+            this.count = count;
+        }
+    }
+    
+    static final class Node {
+        final String name;
+        Node next;
+        
+        Node(String name) {
+            this.name = name;
+        }
+    }
+    
+    static final class Loop {
+        final Loop self;
+        final Object other;
+        
+        Loop(Object other) {
+            self = this;
+            this.other = other;
+        }
+    }
+    
+    static final class Cell {
+        final Object[] ref = new Object[1];
+    }
+    
+    public static void test() {
+        assert DeepFreeze.check(null).isFrozen();
+        assert DeepFreeze.check("hello").isFrozen();
+        assert DeepFreeze.check(new Token()).isFrozen();
+        assert DeepFreeze.check(new Pair("a", 1, 2)).isFrozen();
+        assert DeepFreeze.check(
+                   new Pair(new Pair("a", null, 0), 
+                            ConstArray.array("b", new Pair(3, 4, 5)), 6))
+                   .isFrozen();
+        
+        // the root itself
+        DeepFreeze v = DeepFreeze.check(new Node("x"));
+        assert !v.isFrozen();
+        assert v.getPath().equals("");
+        assert v.getCulprit() == Node.class;
+        assert v.getReason().equals("field next is not final");
+        
+        v = DeepFreeze.check(new int[] {1});
+        assert !v.isFrozen() && v.getPath().equals("");
+        
+        // something reachable
+        v = DeepFreeze.check(
+                new Pair("a", ConstArray.array("b", new Node("c")), 0));
+        assert !v.isFrozen();
+        assert v.getPath().equals(".second[1]");
+        assert v.getCulprit() == Node.class;
+        
+        v = DeepFreeze.check(new Pair(new Cell(), null, 0));
+        assert !v.isFrozen();
+        assert v.getPath().equals(".first.ref");
+        assert v.getReason().equals("Java array");
+        
+        v = DeepFreeze.check(ConstArray.array("a", new ArrayList<String>()));
+        assert !v.isFrozen() && v.getPath().equals("[1]");
+        
+        // cycles terminate, and shared objects are fine
+        Loop loop = new Loop("x");
+        assert DeepFreeze.check(loop).isFrozen();
+        assert DeepFreeze.check(new Pair(loop, loop, 0)).isFrozen();
+        v = DeepFreeze.check(new Loop(new Loop(new Node("y"))));
+        assert v.getPath().equals(".other.other");
+    }
+}
@@ -0,0 +1,66 @@
+package test.library;
+
+import org.joe_e.ErrorHandler;
+import org.joe_e.ErrorHandlers;
+import org.joe_e.JoeE;
+import org.joe_e.metrics.Metrics;
+
+public class ErrorHandling {
+    static class Flaky implements ErrorHandler {
+        int calls = 0;
+        final int failures;
+        
+        Flaky(int failures) {
+            this.failures = failures;
+        }
+        
+        public Error handle(Error err) {
+            if (++calls <= failures) {
+                throw new IllegalStateException();
+            }
+            return new AssertionError("handled");
+        }
+    }
+    
+    public static void test() {
+        Metrics.resetAll();
+        try {
+            // recovers after two failures
+            Flaky flaky = new Flaky(2);
+            ErrorHandlers.setForCurrentThread(flaky);
+            Error reason = new Error();
+            Error result = JoeE.abort(reason);
+            assert result != reason;
+            assert "handled".equals(result.getMessage());
+            assert flaky.calls == 3;
+            
+            // still recovers on the last attempt before halting
+            ErrorHandlers.setAttempts(3);
+            flaky = new Flaky(2);
+            ErrorHandlers.setForCurrentThread(flaky);
+            result = JoeE.abort(reason);
+            assert "handled".equals(result.getMessage());
+            assert flaky.calls == 3;
+            
+            if (Metrics.ENABLED) {
+                assert Metrics.total(Metrics.Probe.ABORT) == 2;
+                assert Metrics.total(Metrics.Probe.ABORT_RETRY) == 4;
+                assert Metrics.dumpAll().indexOf(
+                           "    java.lang.IllegalStateException 4\n") != -1;
+            } else {
+                assert Metrics.total(Metrics.Probe.ABORT) == 0;
+            }
+        } finally {
+            ErrorHandlers.setAttempts(ErrorHandlers.DEFAULT_ATTEMPTS);
+            ErrorHandlers.setForCurrentThread(null);
+            Metrics.resetAll();
+        }
+        
+        try {
+            ErrorHandlers.setAttempts(0);
+            assert false;
+        } catch (IllegalArgumentException iae) {
+            
+        }
+    }
+}
@@ -17,9 +17,12 @@ public class RunTests {
         }
        
         try {
+            ErrorHandling.test();
+            DeepFreezing.test();
             test.library.array.RunTests.test();
             test.library.charset.RunTests.test();
             test.library.file.RunTests.test();
+            test.library.metrics.RunTests.test();
             test.library.reflect.RunTests.test();
         }
         
@@ -0,0 +1,73 @@
+package test.library.array;
+
+import org.joe_e.array.*;
+import org.joe_e.JoeE;
+import org.joe_e.Immutable;
+import org.joe_e.Powerless;
+import org.joe_e.Token;
+
+public class ElementChecks {
+    public static void test() {
+        Object[] mixed = {"a", 1, "b", 2L, "c", 3};
+        Object[] withToken = {"a", 1, new Token(), "b"};
+        Object[] withObject = {"a", new Object(), 2};
+        Object[] withNull = {"a", null};
+        
+        // JoeE.allInstanceOf
+        assert JoeE.allInstanceOf(new Object[]{}, Powerless.class);
+        assert JoeE.allInstanceOf(mixed, Powerless.class);
+        assert JoeE.allInstanceOf(withToken, Immutable.class);
+        assert !JoeE.allInstanceOf(withToken, Powerless.class);
+        assert JoeE.allInstanceOf(withToken, 0, 2, Powerless.class);
+        assert !JoeE.allInstanceOf(withObject, Immutable.class);
+        assert !JoeE.allInstanceOf(withNull, Immutable.class);
+        try {
+            JoeE.allInstanceOf(mixed, 4, 3, Powerless.class);
+            assert false;
+        } catch (IndexOutOfBoundsException ioobe) {}
+        
+        // array() checks the elements when the component type won't do
+        ImmutableArray<Object> iao = ImmutableArray.array(withToken);
+        assert iao.length() == 4 && iao.get(2) == withToken[2];
+        PowerlessArray<Object> pao = PowerlessArray.array(mixed);
+        assert pao.length() == 6 && pao.get(3).equals(2L);
+        try {
+            PowerlessArray.array(withToken);
+            assert false;
+        } catch (ClassCastException cce) {
+            assert cce.getMessage().equals("org.joe_e.Token is not Powerless");
+        }
+        try {
+            ImmutableArray.array(withNull);
+            assert false;
+        } catch (ClassCastException cce) {
+            assert cce.getMessage().equals("null is not Immutable");
+        }
+        
+        // Builders: append() insists on the component type, but 
+        // appendElements() looks at the elements
+        ImmutableArray.Builder<Object> iab = ImmutableArray.builder();
+        try {
+            iab.append(withToken);
+            assert false;
+        } catch (ClassCastException cce) {}
+        iab.appendElements(withToken);
+        iab.appendElements(new String[]{"x"});
+        try {
+            iab.appendElements(withObject);
+            assert false;
+        } catch (ClassCastException cce) {}
+        assert iab.length() == 5;
+        assert iab.snapshot().equals(
+                   ImmutableArray.array("a", 1, withToken[2], "b", "x"));
+        
+        PowerlessArray.Builder<Object> pab = PowerlessArray.builder(2);
+        pab.appendElements(mixed, 1, 3);
+        try {
+            pab.appendElements(withToken);
+            assert false;
+        } catch (ClassCastException cce) {}
+        assert pab.length() == 3;
+        assert pab.snapshot().equals(PowerlessArray.array(1, "b", 2L));
+    }
+}
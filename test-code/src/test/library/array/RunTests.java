@@ -3,6 +3,7 @@ package test.library.array;
 public class RunTests {
     public static void test() {
         HonorariesCheck.test();
+        ElementChecks.test();
         EqualsAndHashCode.test();
         LengthGetAndToString.test();
         WithAndToArray.test();
@@ -1,9 +1,15 @@
 package test.library.charset;
 
+import org.joe_e.array.ByteArray;
+import org.joe_e.array.CharArray;
+import org.joe_e.array.PowerlessArray;
 import org.joe_e.charset.*;
 import java.util.Arrays;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.Reader;
 import java.io.Writer;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 
@@ -29,6 +35,51 @@ public class RunTests {
         utf8Decode = UTF8.decode(helloBytes, 1, 3);
         assert "ell".equals(utf8Decode);      
         
+        // non-ASCII text, and the direct encoding paths
+        String mixed = "h\u00e9llo \u20ac \ud83d\ude00";
+        byte[] mixedBytes = {104, (byte) 0xC3, (byte) 0xA9, 108, 108, 111, 32,
+                             (byte) 0xE2, (byte) 0x82, (byte) 0xAC, 32,
+                             (byte) 0xF0, (byte) 0x9F, (byte) 0x98,
+                             (byte) 0x80};
+        assert Arrays.equals(UTF8.encode(mixed), mixedBytes);
+        assert UTF8.encodedLength(mixed) == mixedBytes.length;
+        assert UTF8.decode(mixedBytes).equals(mixed);
+        
+        ByteArray.Builder builder = ByteArray.builder(4);
+        UTF8.encode("he", builder);
+        UTF8.encode(new StringBuilder("llo"), builder);
+        assert Arrays.equals(builder.snapshot().toByteArray(), helloBytes);
+        
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.put((byte) 0);
+        UTF8.encode(mixed, buffer);
+        assert buffer.position() == 1 + mixedBytes.length;
+        try {
+            UTF8.encode(mixed, ByteBuffer.allocate(mixedBytes.length - 1));
+            assert false;
+        } catch (BufferOverflowException boe) {
+            
+        }
+        
+        ByteArray mixedArray = ByteArray.array(mixedBytes);
+        assert UTF8.decode(mixedArray, 0, mixedBytes.length).equals(mixed);
+        assert UTF8.decode(mixedArray, 1, 2).equals("\u00e9");
+        try {
+            UTF8.decode(mixedArray, 10, 6);
+            assert false;
+        } catch (IndexOutOfBoundsException ioobe) {
+            
+        }
+        
+        // unpaired surrogates and malformed input
+        assert Arrays.equals(UTF8.encode("a\ud800b"), new byte[] {97, 63, 98});
+        assert UTF8.encodedLength("\udc00") == 1;
+        assert UTF8.decode(new byte[] {97, (byte) 0xC3}).equals("a\ufffd");
+        assert UTF8.decode(new byte[] {(byte) 0xE2, (byte) 0x82, 97})
+                   .equals("\ufffda");
+        assert UTF8.decode(new byte[] {(byte) 0xC0, (byte) 0x80})
+                   .equals("\ufffd\ufffd");
+        
         // Reader: just make sure they can be called without
         // generating exceptions.
         Reader asciiReader = ASCII.input(System.in);
@@ -54,10 +105,177 @@ public class RunTests {
             assert false;
         }
                 
+        // incremental decoding, split at every possible point
+        for (int split = 0; split <= mixedBytes.length; ++split) {
+            UTF8.Decoder decoder = new UTF8.Decoder();
+            StringBuilder text = new StringBuilder();
+            decoder.decode(mixedBytes, 0, split, text);
+            decoder.decode(mixedBytes, split, mixedBytes.length - split,
+                           text);
+            assert !decoder.isPending();
+            decoder.finish(text);
+            assert text.toString().equals(mixed);
+            
+            CharArray.Builder chars = CharArray.builder();
+            ByteBuffer direct = ByteBuffer.allocateDirect(mixedBytes.length);
+            direct.put(mixedBytes, 0, split).flip();
+            text.setLength(0);
+            decoder.decode(direct, text);
+            assert direct.remaining() == 0;
+            decoder.decode(mixedBytes, split, mixedBytes.length - split,
+                           chars);
+            decoder.finish(chars);
+            assert (text + new String(chars.snapshot().toCharArray()))
+                       .equals(mixed);
+        }
+        UTF8.Decoder decoder = new UTF8.Decoder();
+        StringBuilder text = new StringBuilder();
+        decoder.decode(new byte[] {97, (byte) 0xF0, (byte) 0x9F}, 0, 3, text);
+        assert decoder.isPending() && text.toString().equals("a");
+        decoder.decode(ByteBuffer.wrap(new byte[] {(byte) 0x98, 98}), text);
+        assert text.toString().equals("a\ufffdb");
+        decoder.decode(new byte[] {(byte) 0xE2}, 0, 1, text);
+        decoder.finish(text);
+        assert !decoder.isPending() && text.toString().equals("a\ufffdb\ufffd");
+        
+        ASCII.Decoder asciiDecoder = new ASCII.Decoder();
+        text.setLength(0);
+        asciiDecoder.decode(new byte[] {104, (byte) 0xC3, 105}, 0, 3, text);
+        asciiDecoder.decode(ByteBuffer.wrap(helloBytes, 1, 2), text);
+        asciiDecoder.finish(text);
+        assert text.toString().equals("h\ufffdiel");
+        
+        // Reader: decoding, one char at a time and in blocks
+        try {
+            Reader reader = UTF8.input(new ByteArrayInputStream(mixedBytes));
+            StringBuilder chars = new StringBuilder();
+            for (int c = reader.read(); c != -1; c = reader.read()) {
+                chars.append((char) c);
+            }
+            assert chars.toString().equals(mixed);
+            reader.close();
+            reader.close();
+            try {
+                reader.read();
+                assert false;
+            } catch (IOException ioe) {
+                
+            }
+            
+            // a new reader starts afresh, even with a pooled decoder
+            reader = UTF8.input(new ByteArrayInputStream(
+                new byte[] {(byte) 0xE2, (byte) 0x82, 97, (byte) 0xC3}));
+            char[] block = new char[8];
+            chars.setLength(0);
+            for (int n = reader.read(block); n != -1; n = reader.read(block)) {
+                chars.append(block, 0, n);
+            }
+            assert chars.toString().equals("\ufffda\ufffd");
+            reader.close();
+            
+            reader = ASCII.input(new ByteArrayInputStream(helloBytes));
+            assert reader.read(block, 2, 6) == 5;
+            assert new String(block, 2, 5).equals("hello");
+            reader.close();
+        } catch (IOException ioe) {
+            assert false;
+        }
+        
+        // Writer: a surrogate pair split across writes, and close()
+        stream.reset();
+        utf8Writer = UTF8.output(stream);
+        try {
+            utf8Writer.write(mixed.substring(0, 9));
+            utf8Writer.flush();
+            assert stream.size() == mixedBytes.length - 4;
+            utf8Writer.write(mixed.substring(9));
+            utf8Writer.close();
+            assert Arrays.equals(stream.toByteArray(), mixedBytes);
+            utf8Writer.close();
+            try {
+                utf8Writer.write("x");
+                assert false;
+            } catch (IOException ioe) {
+                
+            }
+        } catch (IOException ioe) {
+            assert false;
+        }
+        stream.reset();
+        asciiWriter = ASCII.output(stream);
+        try {
+            asciiWriter.write("h\u00e9\ud800");
+            asciiWriter.close();
+            assert Arrays.equals(stream.toByteArray(), new byte[] {104, 63, 63});
+        } catch (IOException ioe) {
+            assert false;
+        }
+        
         // URLEncode/decode
         String decoded = "hi ü@foo-bar";
         String encoded = "hi+%C3%BC%40foo-bar";
         assert URLEncoding.encode(decoded).equals(encoded);
         assert URLEncoding.decode(encoded).equals(decoded);    
+        assert URLEncoding.encode(CharArray.array(decoded.toCharArray()))
+                          .equals(encoded);
+        assert URLEncoding.decode(CharArray.array(encoded.toCharArray()))
+                          .equals(decoded);
+        assert URLEncoding.encode(ByteArray.array(UTF8.encode(decoded)))
+                          .equals(encoded);
+        assert URLEncoding.decode(ByteArray.array(ASCII.encode(encoded)))
+                          .equals(decoded);
+        String plain = "abc.XYZ-0*9_";
+        assert URLEncoding.encode(plain) == plain;
+        assert URLEncoding.decode(plain) == plain;
+        assert URLEncoding.encode("a\ud83d\ude00\ud800+~")
+                          .equals("a%F0%9F%98%80%3F%2B%7E");
+        assert URLEncoding.decode("%f0%9F%98%80%E2%82+%41").equals(
+                   "\ud83d\ude00\ufffd A");
+        assert URLEncoding.decode(ByteArray.array(
+                   UTF8.encode("\u00e9+%C3%A9"))).equals("\u00e9 \u00e9");
+        String[] malformed = { "%", "a%4", "%4g", "%%41", "\u00e9%\u00e9a" };
+        for (String m : malformed) {
+            try {
+                URLEncoding.decode(m);
+                assert false;
+            } catch (IllegalArgumentException e) {}
+            try {
+                URLEncoding.decode(ByteArray.array(UTF8.encode(m)));
+                assert false;
+            } catch (IllegalArgumentException e) {}
+        }
+        
+        Parameters params =
+            URLEncoding.parse("a=1&b=x+y&&a=%32&c&=e&d=f=g");
+        assert params.length() == 6;
+        assert params.getName(1).equals("b");
+        assert params.getValue(1).equals("x y");
+        assert params.get("a").equals("1");
+        assert params.getAll("a").equals(PowerlessArray.array("1", "2"));
+        assert params.getAll("z").length() == 0;
+        assert params.get("z") == null;
+        assert params.get("c").equals("");
+        assert params.get("").equals("e");
+        assert params.get("d").equals("f=g");
+        assert params.toString().equals("a=1&b=x+y&a=2&c=&=e&d=f%3Dg");
+        assert URLEncoding.parse("").length() == 0;
+        assert URLEncoding.parse("&&").length() == 0;
+        try {
+            URLEncoding.parse("a=%zz");
+            assert false;
+        } catch (IllegalArgumentException e) {}
+        
+        String query = "a=1&b=x+y&&a=%32&c&=e&d=f=g&%C3%A9=%E2%82%AC";
+        Parameters body = URLEncoding.parse(ByteArray.array(ASCII.encode(query)));
+        assert body.getNames().equals(URLEncoding.parse(query).getNames());
+        assert body.getValues().equals(URLEncoding.parse(query).getValues());
+        assert body.get("\u00e9").equals("\u20ac");
+        body = URLEncoding.parse(ByteArray.array(UTF8.encode("n=\u00e9+x%21")));
+        assert body.get("n").equals("\u00e9 x!");
+        assert URLEncoding.parse(ByteArray.array()).length() == 0;
+        try {
+            URLEncoding.parse(ByteArray.array(ASCII.encode("a=%2&b=1")));
+            assert false;
+        } catch (IllegalArgumentException e) {}
     }
 }
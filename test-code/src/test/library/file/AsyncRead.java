@@ -0,0 +1,104 @@
+package test.library.file;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.OutputStream;
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+
+import org.joe_e.array.ByteArray;
+import org.joe_e.file.Filesystem;
+
+public class AsyncRead {
+    static private final class ReadError extends Error {
+        static private final long serialVersionUID = 1L;
+    }
+
+    static private Error thrown;
+
+    public static void test() {
+        Executor inline = new Executor() {
+            public void execute(Runnable task) {
+                task.run();
+            }
+        };
+        Executor threaded = new Executor() {
+            public void execute(Runnable task) {
+                new Thread(task).start();
+            }
+        };
+        Executor catching = new Executor() {
+            public void execute(Runnable task) {
+                try {
+                    task.run();
+                } catch (ReadError e) {
+                    thrown = e;
+                }
+            }
+        };
+
+        File root = new File("/tmp");
+        File file = Filesystem.file(root, "joe-e-lib-test-async");
+        File empty = Filesystem.file(root, "joe-e-lib-test-async-empty");
+        byte[] big = new byte[100000];
+        for (int i = 0; i != big.length; ++i) {
+            big[i] = (byte) (i * 31);
+        }
+        try {
+            OutputStream out = Filesystem.writeNew(file);
+            out.write(big);
+            out.close();
+            Filesystem.writeNew(empty).close();
+
+            Future<ByteArray> read =
+                Filesystem.readAsync(file, big.length, threaded);
+            assert read.get().equals(ByteArray.array(big));
+            assert Filesystem.readAsync(file, big.length, inline).isDone();
+            assert Filesystem.readAsync(empty, 0, inline).get().length() == 0;
+
+            Future<ByteArray> missing = Filesystem.readAsync(
+                Filesystem.file(root, "joe-e-lib-test-async-missing"), 1,
+                inline);
+            try {
+                missing.get();
+                assert false;
+            } catch (ExecutionException e) {
+                assert e.getCause() instanceof FileNotFoundException;
+            }
+            Future<ByteArray> tooLong =
+                Filesystem.readAsync(file, big.length - 1, inline);
+            try {
+                tooLong.get();
+                assert false;
+            } catch (ExecutionException e) {
+                assert e.getCause() instanceof IOException;
+            }
+
+            // An Error goes up the executor's thread, not into the Future.
+            File broken = new File(root, "joe-e-lib-test-async-broken") {
+                static private final long serialVersionUID = 1L;
+
+                public boolean isFile() {
+                    throw new ReadError();
+                }
+            };
+            Future<ByteArray> failed =
+                Filesystem.readAsync(broken, 1, catching);
+            assert thrown instanceof ReadError;
+            assert failed.isCancelled();
+            try {
+                failed.get();
+                assert false;
+            } catch (CancellationException e) {}
+        } catch (Exception e) {
+            e.printStackTrace();
+            assert false;
+        } finally {
+            file.delete();
+            empty.delete();
+        }
+    }
+}
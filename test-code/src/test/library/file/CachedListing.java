@@ -0,0 +1,92 @@
+package test.library.file;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.joe_e.array.ConstArray;
+import org.joe_e.file.Filesystem;
+import org.joe_e.file.ListingCache;
+
+public class CachedListing {
+    static private final class TestClock implements ListingCache.Clock {
+        long now;
+
+        public long currentTimeMillis() {
+            return now;
+        }
+    }
+
+    public static void test() {
+        File root = new File("/tmp");
+        File dir = Filesystem.file(root, "joe-e-lib-test-cache");
+        File other = Filesystem.file(root, "joe-e-lib-test-cache2");
+        File a = Filesystem.file(dir, "a");
+        File b = Filesystem.file(dir, "b");
+        boolean made = dir.mkdir();
+        assert made;
+        made = other.mkdir();
+        assert made;
+        try {
+            long past = System.currentTimeMillis() / 1000 * 1000 - 60000;
+            Filesystem.writeNew(a).close();
+            boolean set = dir.setLastModified(past);
+            assert set;
+
+            TestClock clock = new TestClock();
+            clock.now = past + 60000;
+            ListingCache cache = new ListingCache(1, clock);
+            ConstArray<File> first = cache.list(dir);
+            assert first.length() == 1 && first.get(0).equals(a);
+            assert cache.list(dir) == first;
+            assert cache.getHits() == 1 && cache.getMisses() == 1;
+
+            // A change that moves the directory's time is seen.
+            Filesystem.writeNew(b).close();
+            set = dir.setLastModified(past + 5000);
+            assert set;
+            ConstArray<File> second = cache.list(dir);
+            assert second.length() == 2 && second.get(1).equals(b);
+            assert cache.list(dir) == second;
+            assert cache.getHits() == 2 && cache.getMisses() == 2;
+
+            // A listing read soon after the directory changed is not reused.
+            set = dir.setLastModified(past + 10000);
+            assert set;
+            clock.now = past + 11000;
+            assert cache.list(dir) != second;
+            assert cache.list(dir).length() == 2;
+            assert cache.getHits() == 2 && cache.getMisses() == 4;
+
+            // Listing another directory evicts the only entry.
+            set = dir.setLastModified(past);
+            assert set;
+            clock.now = past + 60000;
+            cache.list(dir);
+            assert cache.list(dir) == cache.list(dir);
+            assert cache.getHits() == 4;
+            cache.list(other);
+            cache.list(dir);
+            assert cache.getMisses() == 7;
+            cache.clear();
+            cache.list(dir);
+            assert cache.getHits() == 4 && cache.getMisses() == 8;
+
+            try {
+                cache.list(a);
+                assert false;
+            } catch (IOException e) {}
+            try {
+                new ListingCache(0, clock);
+                assert false;
+            } catch (IllegalArgumentException e) {}
+        } catch (IOException e) {
+            e.printStackTrace();
+            assert false;
+        } finally {
+            a.delete();
+            b.delete();
+            dir.delete();
+            other.delete();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package test.library.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.joe_e.array.ConstArray;
+import org.joe_e.file.Filesystem;
+
+public class Listing {
+    public static void test() {
+        String[] names = {"c.txt", "a.txt", "b.eml", "ab", "d.txt", "b.txt"};
+
+        File dir = Filesystem.file(new File("/tmp"), "joe-e-lib-test-list");
+        boolean made = dir.mkdir();
+        assert made;
+        try {
+            for (String name : names) {
+                Filesystem.writeNew(Filesystem.file(dir, name)).close();
+            }
+
+            assert names(Filesystem.list(dir)).equals("[a.txt, ab, b.eml, b.txt, c.txt, d.txt]");
+            assert names(Filesystem.list(dir, null, true)).equals(names(Filesystem.list(dir)));
+            assert names(Filesystem.list(dir, "*.txt", true)).equals("[a.txt, b.txt, c.txt, d.txt]");
+            assert names(Filesystem.list(dir, "?b", true)).equals("[ab]");
+            assert names(Filesystem.list(dir, "*b*", true)).equals("[ab, b.eml, b.txt]");
+            assert names(Filesystem.list(dir, "b.*t", true)).equals("[b.txt]");
+            assert names(Filesystem.list(dir, "*", true)).equals(names(Filesystem.list(dir)));
+            assert Filesystem.list(dir, "", true).length() == 0;
+            assert Filesystem.list(dir, "*.TXT", true).length() == 0;
+
+            ConstArray<File> unsorted = Filesystem.list(dir, "*.txt", false);
+            String[] got = new String[unsorted.length()];
+            for (int i = 0; i != got.length; ++i) {
+                assert unsorted.get(i).equals(Filesystem.file(dir, unsorted.get(i).getName()));
+                got[i] = unsorted.get(i).getName();
+            }
+            Arrays.sort(got);
+            assert Arrays.toString(got).equals("[a.txt, b.txt, c.txt, d.txt]");
+
+            assert names(Filesystem.list(dir, null, null, 2)).equals("[a.txt, ab]");
+            assert names(Filesystem.list(dir, null, "ab", 2)).equals("[b.eml, b.txt]");
+            assert names(Filesystem.list(dir, null, "b.txt", 10)).equals("[c.txt, d.txt]");
+            assert names(Filesystem.list(dir, "*.txt", "a", 3)).equals("[a.txt, b.txt, c.txt]");
+            assert Filesystem.list(dir, null, "d.txt", 2).length() == 0;
+            assert Filesystem.list(dir, null, null, 0).length() == 0;
+            try {
+                Filesystem.list(dir, null, null, -1);
+                assert false;
+            } catch (IllegalArgumentException e) {}
+            try {
+                Filesystem.list(Filesystem.file(dir, "a.txt"), null, null, 1);
+                assert false;
+            } catch (IOException e) {}
+        } catch (IOException e) {
+            e.printStackTrace();
+            assert false;
+        } finally {
+            for (String name : names) {
+                Filesystem.file(dir, name).delete();
+            }
+            dir.delete();
+        }
+    }
+
+    private static String names(ConstArray<File> files) {
+        String[] names = new String[files.length()];
+        for (int i = 0; i != names.length; ++i) {
+            names[i] = files.get(i).getName();
+        }
+        return Arrays.toString(names);
+    }
+}
@@ -0,0 +1,104 @@
+package test.library.file;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.NonWritableChannelException;
+import java.util.Arrays;
+
+import org.joe_e.array.PowerlessArray;
+import org.joe_e.file.FileAttributes;
+import org.joe_e.file.Filesystem;
+import org.joe_e.file.OpenFile;
+
+public class OpenFiles {
+    public static void test() {
+        byte[] hello = {104, 101, 108, 108, 111, 10};
+
+        File dir = Filesystem.file(new File("/tmp"), "joe-e-lib-test-dir");
+        boolean made = dir.mkdir();
+        assert made;
+        File file = Filesystem.file(dir, "b");
+        File sub = Filesystem.file(dir, "a");
+        try {
+            made = sub.mkdir();
+            assert made;
+            OutputStream out = Filesystem.writeNew(file);
+            out.write(hello);
+            out.close();
+
+            OpenFile in = Filesystem.open(file);
+            assert in.size() == 6;
+            byte[] buf = new byte[8];
+            assert in.read(2, buf, 0, 8) == 4;
+            assert buf[0] == 'l' && buf[3] == 10;
+            assert in.position() == 0;
+            assert in.read(buf, 0, 2) == 2;
+            assert buf[0] == 'h' && buf[1] == 'e';
+            assert in.position() == 2;
+            assert in.read(6, buf, 0, 8) == -1;
+            try {
+                in.write(hello, 0, 1);
+                assert false;
+            } catch (NonWritableChannelException e) {}
+
+            ByteArrayOutputStream copy = new ByteArrayOutputStream();
+            assert in.transferTo(1, 3, copy) == 3;
+            assert Arrays.equals(copy.toByteArray(), new byte[] {101, 108, 108});
+            assert in.transferTo(4, Long.MAX_VALUE, copy) == 2;
+            assert in.transferTo(9, 1, copy) == 0;
+            copy.reset();
+            long n = 0;
+            while (n < 6) {
+                n += in.transferTo(n, 6 - n, Channels.newChannel(copy));
+            }
+            assert Arrays.equals(copy.toByteArray(), hello);
+            in.close();
+            in.close();
+
+            OpenFile rw = Filesystem.openWritable(file);
+            rw.write(4, hello, 0, 6);
+            assert rw.size() == 10;
+            assert rw.position() == 0;
+            rw.write(hello, 1, 2);
+            assert rw.position() == 2;
+            rw.force();
+            assert rw.read(0, buf, 0, 8) == 8;
+            assert Arrays.equals(buf, new byte[] {101, 108, 108, 108, 104, 101, 108, 108});
+            rw.close();
+
+            try {
+                Filesystem.open(Filesystem.file(dir, "c"));
+                assert false;
+            } catch (FileNotFoundException e) {}
+            try {
+                Filesystem.openWritable(sub);
+                assert false;
+            } catch (FileNotFoundException e) {}
+
+            PowerlessArray<FileAttributes> entries = Filesystem.listAttributes(dir);
+            assert entries.length() == 2;
+            assert entries.get(0).getName().equals("a");
+            assert entries.get(0).isDirectory() && !entries.get(0).isFile();
+            assert entries.get(0).getSize() == 0;
+            assert entries.get(1).getName().equals("b");
+            assert entries.get(1).isFile() && !entries.get(1).isDirectory();
+            assert entries.get(1).getSize() == 10;
+            assert entries.get(1).getLastModified() == file.lastModified();
+            try {
+                Filesystem.listAttributes(file);
+                assert false;
+            } catch (IOException e) {}
+        } catch (IOException e) {
+            e.printStackTrace();
+            assert false;
+        } finally {
+            file.delete();
+            sub.delete();
+            dir.delete();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package test.library.file;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+
+import org.joe_e.array.ByteArray;
+import org.joe_e.file.Filesystem;
+
+public class ReadAll {
+    public static void test() {
+        File root = new File("/tmp");
+        File small = Filesystem.file(root, "joe-e-lib-test-small");
+        File large = Filesystem.file(root, "joe-e-lib-test-large");
+        File empty = Filesystem.file(root, "joe-e-lib-test-empty");
+        byte[] bytes = new byte[3 << 20];
+        for (int i = 0; i != bytes.length; ++i) {
+            bytes[i] = (byte) (i * 7 + (i >> 8));
+        }
+        try {
+            OutputStream out = Filesystem.writeNew(small);
+            out.write(bytes, 0, 20000);
+            out.close();
+            out = Filesystem.writeNew(large);
+            out.write(bytes);
+            out.close();
+            Filesystem.writeNew(empty).close();
+
+            ByteArray.Builder expected = ByteArray.builder();
+            expected.append(bytes, 0, 20000);
+            assert Filesystem.readAll(small, 20000).equals(expected.snapshot());
+            assert Filesystem.readAll(large, bytes.length).equals(ByteArray.array(bytes));
+            assert Filesystem.readAll(empty, 0).length() == 0;
+            try {
+                Filesystem.readAll(small, 19999);
+                assert false;
+            } catch (IOException e) {}
+            try {
+                Filesystem.readAll(Filesystem.file(root, "joe-e-lib-test-none"), 1);
+                assert false;
+            } catch (FileNotFoundException e) {}
+            try {
+                Filesystem.readAll(root, Integer.MAX_VALUE);
+                assert false;
+            } catch (FileNotFoundException e) {}
+
+            ByteArray.Builder b = ByteArray.builder(2);
+            b.append((byte) 1);
+            ByteArrayInputStream src = new ByteArrayInputStream(bytes, 10, 5);
+            int added = b.append(src, 8);
+            assert added == 5;
+            added = b.append(src, 0);
+            assert added == 0;
+            ByteArray got = b.snapshot();
+            assert got.length() == 6;
+            assert got.getByte(0) == 1 && got.getByte(1) == bytes[10] &&
+                   got.getByte(5) == bytes[14];
+            try {
+                b.append(src, -1);
+                assert false;
+            } catch (IndexOutOfBoundsException e) {}
+        } catch (IOException e) {
+            e.printStackTrace();
+            assert false;
+        } finally {
+            small.delete();
+            large.delete();
+            empty.delete();
+        }
+    }
+}
@@ -4,5 +4,11 @@ public class RunTests {
     public static void test() {
         WriteRead.test();
         Vetting.test();
+        OpenFiles.test();
+        Listing.test();
+        CachedListing.test();
+        Updates.test();
+        AsyncRead.test();
+        ReadAll.test();
     }
 }
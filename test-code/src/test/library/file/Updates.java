@@ -0,0 +1,80 @@
+package test.library.file;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.joe_e.array.ByteArray;
+import org.joe_e.file.Filesystem;
+import org.joe_e.file.InvalidFilenameException;
+import org.joe_e.file.OpenFile;
+
+public class Updates {
+    public static void test() {
+        File dir = Filesystem.file(new File("/tmp"), "joe-e-lib-test-update");
+        File file = Filesystem.file(dir, "state");
+        File log = Filesystem.file(dir, "log");
+        File sub = Filesystem.file(dir, "sub");
+        boolean made = dir.mkdir();
+        assert made;
+        try {
+            Filesystem.atomicReplace(dir, "state", ByteArray.array(new byte[] {1, 2, 3}));
+            assert Arrays.equals(contents(file), new byte[] {1, 2, 3});
+            Filesystem.atomicReplace(dir, "state", ByteArray.array((byte) 4));
+            assert Arrays.equals(contents(file), new byte[] {4});
+            Filesystem.atomicReplace(dir, "state", ByteArray.array());
+            assert contents(file).length == 0;
+            assert Filesystem.list(dir).length() == 1;
+
+            made = sub.mkdir();
+            assert made;
+            try {
+                Filesystem.atomicReplace(dir, "sub", ByteArray.array((byte) 1));
+                assert false;
+            } catch (IOException e) {}
+            assert sub.isDirectory();
+            assert Filesystem.list(dir).length() == 2;
+            try {
+                Filesystem.atomicReplace(dir, "../state", ByteArray.array());
+                assert false;
+            } catch (InvalidFilenameException e) {}
+
+            OpenFile out = Filesystem.append(log);
+            out.write(new byte[] {1, 2}, 0, 2);
+            OpenFile other = Filesystem.append(log);
+            other.write(new byte[] {3}, 0, 1);
+            out.write(new byte[] {4}, 0, 1);
+            out.force();
+            out.close();
+            other.close();
+            out = Filesystem.append(log);
+            out.write(new byte[] {9, 5, 9}, 1, 1);
+            out.close();
+            assert Arrays.equals(contents(log), new byte[] {1, 2, 3, 4, 5});
+            try {
+                Filesystem.append(sub);
+                assert false;
+            } catch (FileNotFoundException e) {}
+        } catch (IOException e) {
+            e.printStackTrace();
+            assert false;
+        } finally {
+            file.delete();
+            log.delete();
+            sub.delete();
+            dir.delete();
+        }
+    }
+
+    private static byte[] contents(File file) throws IOException {
+        OpenFile in = Filesystem.open(file);
+        byte[] r = new byte[(int) in.size()];
+        int n = 0;
+        while (n != r.length) {
+            n += in.read(n, r, n, r.length - n);
+        }
+        in.close();
+        return r;
+    }
+}
@@ -4,6 +4,7 @@ import java.io.File;
 
 import org.joe_e.file.Filesystem;
 import org.joe_e.file.InvalidFilenameException;
+import org.joe_e.file.RelativePath;
 
 public class Vetting {
     public static void test() {
@@ -38,5 +39,40 @@ public class Vetting {
             }
         }
         
+        for (String p : pass) {
+            RelativePath path = RelativePath.parse(p);
+            assert path.length() == 1;
+            assert path.resolve(base).equals(Filesystem.file(base, p));
+            path = RelativePath.parse(p + "/" + p + "/x");
+            assert path.length() == 3;
+            assert path.toString().equals(p + "/" + p + "/x");
+            assert path.resolve(base).equals(Filesystem.file(
+                Filesystem.file(Filesystem.file(base, p), p), "x"));
+        }
+        
+        String[] failPaths = {"", "/", "a/", "/a", "a//b", "a/./b", "a/..",
+                              "../a", "a/\0/b", "a/b\0"};
+        for (String f : fail) {
+            try {
+                RelativePath.parse(f);
+                assert f.indexOf('/') != -1 && f.indexOf('\0') == -1;
+            } catch (InvalidFilenameException ife) {}
+        }
+        for (String f : failPaths) {
+            try {
+                RelativePath.parse(f);
+                assert false;
+            } catch (InvalidFilenameException ife) {}
+        }
+        
+        assert RelativePath.parse("Maildir/new").equals(RelativePath.parse("Maildir/new"));
+        assert RelativePath.parse("Maildir/new").hashCode() ==
+            RelativePath.parse("Maildir/new").hashCode();
+        assert !RelativePath.parse("Maildir/new").equals(RelativePath.parse("Maildir/cur"));
+        try {
+            RelativePath.parse("a").resolve(new File(""));
+            assert false;
+        } catch (IllegalArgumentException iae) {}
+        
     }
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package test.library.metrics;
+
+import org.joe_e.metrics.Metrics;
+
+public class RunTests {
+    public static void test() {
+        Metrics.resetAll();
+        assert Metrics.total(Metrics.Probe.PROXY) == 0;
+        
+        for (int i = 0; i < 100; ++i) {
+            Metrics.count(Metrics.Probe.PROXY, String.class);
+        }
+        Metrics.count(Metrics.Probe.PROXY, Integer.class);
+        Metrics.count(Metrics.Probe.PROXY, null);
+        assert Metrics.total(Metrics.Probe.PROXY) == 102;
+        
+        // most frequent subject listed first
+        String dump = Metrics.dumpAll();
+        int proxyLine = dump.indexOf("Proxies.proxy 102\n");
+        assert proxyLine != -1;
+        int stringLine = dump.indexOf("    java.lang.String 100\n", proxyLine);
+        int integerLine = dump.indexOf("    java.lang.Integer 1\n", proxyLine);
+        assert stringLine != -1 && integerLine > stringLine;
+        
+        Metrics.resetAll();
+        assert Metrics.total(Metrics.Probe.PROXY) == 0;
+        assert Metrics.dumpAll().indexOf("java.lang.String") == -1;
+    }
+}
@@ -0,0 +1,39 @@
+// This file is auto-generated by org.joe_e.reflect.FacadeWriter from
+// test.library.reflect.Facades$Counter, and should not be edited directly.
+package test.library.reflect;
+
+/**
+ * Forwards {@link test.library.reflect.Facades.Counter} to a target.
+ */
+public final class CounterFacade implements test.library.reflect.Facades.Counter {
+    private final test.library.reflect.Facades.Counter target;
+
+    /**
+     * Constructs a facade.
+     * @param target   object to forward to
+     * @throws NullPointerException <code>target</code> is <code>null</code>
+     */
+    public CounterFacade(final test.library.reflect.Facades.Counter target) {
+        if (target == null) {
+            throw new NullPointerException();
+        }
+        this.target = target;
+    }
+
+    public void add(final int a0) {
+        target.add(a0);
+    }
+
+    public int get() {
+        return target.get();
+    }
+
+    public boolean equals(final Object other) {
+        return other instanceof CounterFacade &&
+               target.equals(((CounterFacade) other).target);
+    }
+
+    public int hashCode() {
+        return target.hashCode();
+    }
+}
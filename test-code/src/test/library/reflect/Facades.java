@@ -0,0 +1,121 @@
+package test.library.reflect;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.joe_e.Equatable;
+import org.joe_e.Selfless;
+import org.joe_e.reflect.FacadeWriter;
+
+public class Facades {
+    public interface Source<E> {
+        E next() throws IOException;
+        Object copy();
+    }
+    
+    public interface Lister<T extends Comparable<T>> 
+                                        extends Source<List<T>> {
+        List<T> next();
+        int count(T... items);
+        <U extends T> void add(U item, List<? super U> into);
+        String toString();
+    }
+    
+    /**
+     * Implemented by {@link CounterFacade}, which was generated by
+     * <code>FacadeWriter 'test.library.reflect.Facades$Counter'
+     * test.library.reflect.CounterFacade</code>.
+     */
+    public interface Counter extends Selfless {
+        int get();
+        void add(int n);
+    }
+    
+    public interface Reader {
+        void close() throws IOException;
+        void open() throws IOException;
+    }
+    
+    public interface Quiet {
+        void close();
+        void open() throws java.io.FileNotFoundException;
+    }
+    
+    public interface QuietReader extends Reader, Quiet {
+        
+    }
+    
+    public interface Both extends Selfless, Equatable {
+        
+    }
+    
+    static class Cell implements Counter {
+        int n;
+        
+        public int get() {
+            return n;
+        }
+        
+        public void add(int n) {
+            this.n += n;
+        }
+        
+        public boolean equals(Object other) {
+            return other instanceof Cell && ((Cell) other).n == n;
+        }
+        
+        public int hashCode() {
+            return n;
+        }
+    }
+    
+    public static void test() {
+        String lister = FacadeWriter.generate(Lister.class, "p.ListerFacade");
+        assert lister.contains("package p;");
+        assert lister.contains("public final class ListerFacade" +
+            "<T extends java.lang.Comparable<T>> implements " +
+            "test.library.reflect.Facades.Lister<T> {");
+        // the most specific next() is forwarded, without the throws clause
+        assert lister.contains("public java.util.List<T> next() {");
+        assert !lister.contains("IOException");
+        assert lister.contains("public int count(final T... a0) {");
+        assert lister.contains("public <U extends T> void add(final U a0, " +
+                               "final java.util.List<? super U> a1) {");
+        assert lister.contains("return target.copy();");
+        assert !lister.contains("toString");
+        assert !lister.contains("equals");
+        
+        // colliding declarations throw only what all of them allow
+        String quiet = FacadeWriter.generate(QuietReader.class, "QR");
+        assert quiet.contains("public void close() {");
+        assert quiet.contains("public void open() " +
+                              "throws java.io.FileNotFoundException {");
+        assert !quiet.contains("IOException");
+        
+        assert FacadeWriter.generate(Counter.class, "CounterFacade")
+                           .contains("public boolean equals(");
+        
+        try {
+            FacadeWriter.generate(Both.class, "BothFacade");
+            assert false;
+        } catch (ClassCastException cce) {
+            
+        }
+        
+        try {
+            FacadeWriter.generate(Cell.class, "CellFacade");
+            assert false;
+        } catch (IllegalArgumentException iae) {
+            
+        }
+        
+        // a facade generated from Counter
+        Cell cell = new Cell();
+        Counter facade = new CounterFacade(cell);
+        facade.add(3);
+        assert cell.n == 3 && facade.get() == 3;
+        assert facade.equals(new CounterFacade(new Cell() {{ n = 3; }}));
+        assert facade.hashCode() == cell.hashCode();
+        assert !(facade instanceof Cell);
+    }
+}
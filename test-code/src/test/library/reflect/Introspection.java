@@ -85,5 +85,20 @@ public class Introspection {
         } catch (NoSuchMethodException nsme) {
             assert false;
         }        
+        
+        // multiple parameters are matched against the taming database
+        try {
+            Reflection.method(Byte.class, "valueOf", 
+                              new Class[] {String.class, int.class});
+        } catch (NoSuchMethodException nsme) {
+            assert false;
+        }
+        
+        // results are cached per class
+        assert Reflection.methods(ConstArray.class) ==
+               Reflection.methods(ConstArray.class);
+        assert Reflection.fields(Introspection.class) == thisClassFields;
+        assert Reflection.constructors(Introspection.class) == thisClassCtors;
+        assert Reflection.methods(ConstArray.class).length() > 0;
     }
 }
@@ -6,6 +6,9 @@ import java.lang.reflect.Method;
 
 import org.joe_e.Token;
 import org.joe_e.array.ConstArray;
+import org.joe_e.reflect.ConstructorInvoker;
+import org.joe_e.reflect.FieldAccessor;
+import org.joe_e.reflect.MethodInvoker;
 import org.joe_e.reflect.Reflection;
 
 public class Invocation {
@@ -117,5 +120,60 @@ public class Invocation {
         } catch (Exception e) {
             assert false;
         }
+        
+        // pre-checked invokers
+        try {
+            FieldAccessor dummy = Reflection.accessor(
+                Reflection.field(Invocation.class, "dummy"));
+            Invocation target = new Invocation();
+            dummy.set(target, 9);
+            assert (Integer) dummy.get(target) == 9;
+            
+            ConstructorInvoker<Token> maker = Reflection.invoker(
+                Reflection.constructor(Token.class, new Class[] {}));
+            assert maker.construct() != maker.construct();
+            
+            MethodInvoker length = Reflection.invoker(
+                Reflection.method(ConstArray.class, "length", new Class[] {}));
+            assert (Integer) length.invoke(ConstArray.array("a", "b")) == 2;
+            try {
+                length.invoke("not a ConstArray");
+                assert false;
+            } catch (ClassCastException cce) {
+                
+            }
+            
+            MethodInvoker valueOf = Reflection.invoker(
+                Reflection.method(Byte.class, "valueOf", 
+                                  new Class[] {String.class, int.class}));
+            assert valueOf.invoke(null, "7f", 16).equals((byte) 0x7f);
+            try {
+                valueOf.invoke(null, "zz", 10);
+                assert false;
+            } catch (NumberFormatException nfe) {
+                
+            }
+        } catch (Exception e) {
+            assert false;
+        }
+        
+        try {
+            Reflection.accessor(Reflection.field(NotPublic.class, "goo"));
+            assert false;
+        } catch (IllegalAccessException iae) {
+            
+        } catch (Exception e) {
+            assert false;
+        }
+        
+        try {
+            Reflection.invoker(
+                Reflection.method(NotPublic.class, "foo", new Class[] {}));
+            assert false;
+        } catch (IllegalAccessException iae) {
+            
+        } catch (Exception e) {
+            assert false;
+        }
     }
 }
\ No newline at end of file
@@ -75,6 +75,30 @@ public class Proxying {
             
         }  
         
+        // Proxies of the same shape share a class, and the handler is
+        // still checked on each use of it.
+        Class<?>[] shape = new Class[] {Powerless.class, Runnable.class};
+        Object first = Proxies.proxy(new Foo(), shape);
+        Object second = Proxies.proxy(new Foo(), shape);
+        assert first != second && first.getClass() == second.getClass();
+        try {
+            Proxies.proxy(new Bar(), shape);
+            assert false;
+        } catch (ClassCastException cce) {
+            
+        }
+        shape[0] = Immutable.class;
+        Object third = Proxies.proxy(new Bar(), shape);
+        assert third.getClass() != first.getClass();
+        assert Proxies.proxy(new Foo(), Powerless.class, Runnable.class)
+                   .getClass() == first.getClass();
+        try {
+            Proxies.proxy(new Baz(), Equatable.class, Selfless.class);
+            assert false;
+        } catch (ClassCastException cce) {
+            
+        }
+        
         // Try to cheat by calling Constructor for a Proxy type directly via
         // reflection.  Doing so can allow one to specify an InvocationHandler
         // that does not meet the specification of the associated marker
@@ -7,5 +7,6 @@ public class RunTests {
         Introspection.test();
         Invocation.test();
         Proxying.test();
+        Facades.test();
     }
 }
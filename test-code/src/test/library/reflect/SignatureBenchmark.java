@@ -0,0 +1,154 @@
+package test.library.reflect;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.joe_e.reflect.Reflection;
+import org.joe_e.taming.Policy;
+
+/**
+ * Compares the cost of the lookups <code>Reflection.field()</code>,
+ * <code>constructor()</code> and <code>method()</code>, which vet each member
+ * they find against the taming database, with the same lookups vetted the old
+ * way, which derived the taming database key by parsing
+ * <code>Member.toString()</code> with a regular expression.  Both find the
+ * member through <code>Class</code> and ask the <code>Policy</code>, so the
+ * difference is the cost of deriving the key.  Not run as part of the test
+ * suite.
+ */
+public class SignatureBenchmark {
+    static final Pattern UNQUALIFY =
+        Pattern.compile("[^\\(<> ]*\\.([^<> \\.]*)");
+
+    static final int ROUNDS = 200;
+
+    public static void main(String[] args) throws Exception {
+        Class<?>[] types = { String.class, java.util.HashMap.class,
+                             java.io.File.class, StringBuilder.class };
+        List<Member> fields = new ArrayList<Member>();
+        List<Member> constructors = new ArrayList<Member>();
+        List<Member> methods = new ArrayList<Member>();
+        for (Class<?> t : types) {
+            for (Field f : t.getFields()) {
+                fields.add(f);
+            }
+            for (Constructor<?> c : t.getConstructors()) {
+                constructors.add(c);
+            }
+            for (Method m : t.getMethods()) {
+                methods.add(m);
+            }
+        }
+
+        // warm up both paths before timing either
+        for (int i = 0; i != 3; ++i) {
+            run(fields, true);
+            run(fields, false);
+            run(constructors, true);
+            run(constructors, false);
+            run(methods, true);
+            run(methods, false);
+        }
+        report("field()", fields);
+        report("constructor()", constructors);
+        report("method()", methods);
+    }
+
+    static void report(String label, List<Member> members) throws Exception {
+        long regex = run(members, true);
+        long direct = run(members, false);
+        long ops = (long) ROUNDS * members.size();
+        System.out.println(label + ": " + members.size() + " members, "
+                           + "regex " + regex / ops + " ns/op, "
+                           + "Reflection " + direct / ops + " ns/op");
+    }
+
+    static int sink;
+
+    static long run(List<Member> members, boolean regex) throws Exception {
+        long start = System.nanoTime();
+        for (int r = 0; r != ROUNDS; ++r) {
+            for (Member m : members) {
+                try {
+                    Member found = regex ? regexLookup(m) : lookup(m);
+                    sink += found.getName().length();
+                } catch (NoSuchFieldException e) {
+                    ++sink;
+                } catch (NoSuchMethodException e) {
+                    ++sink;
+                }
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Looks a member up again through <code>Reflection</code>.
+     */
+    static Member lookup(Member member) throws Exception {
+        Class<?> type = member.getDeclaringClass();
+        if (member instanceof Field) {
+            return Reflection.field(type, member.getName());
+        } else if (member instanceof Constructor<?>) {
+            return Reflection.constructor(type,
+                ((Constructor<?>) member).getParameterTypes());
+        } else {
+            return Reflection.method(type, member.getName(),
+                                     ((Method) member).getParameterTypes());
+        }
+    }
+
+    /**
+     * Looks a member up again as <code>Reflection</code> did before, with
+     * the key parsed out of the member's string form.
+     */
+    static Member regexLookup(Member member) throws Exception {
+        Class<?> type = member.getDeclaringClass();
+        if (member instanceof Field) {
+            Field f = type.getField(member.getName());
+            if (!Policy.fieldEnabled(regexKey(f))) {
+                throw new NoSuchFieldException();
+            }
+            return f;
+        } else if (member instanceof Constructor<?>) {
+            Constructor<?> c = type.getConstructor(
+                ((Constructor<?>) member).getParameterTypes());
+            if (!Policy.constructorEnabled(regexKey(c))) {
+                throw new NoSuchMethodException();
+            }
+            return c;
+        } else {
+            Method m = type.getMethod(member.getName(),
+                                      ((Method) member).getParameterTypes());
+            if (!Policy.methodEnabled(regexKey(m))) {
+                throw new NoSuchMethodException();
+            }
+            return m;
+        }
+    }
+
+    /**
+     * The key as computed before: parse it out of the member's string form.
+     */
+    static String regexKey(Member member) {
+        StringBuilder sb = new StringBuilder(member.getDeclaringClass()
+                                                   .getName());
+        if (member instanceof Field) {
+            sb.append("." + member.getName());
+        } else {
+            if (member instanceof Method) {
+                sb.append("." + member.getName());
+            }
+            String stringForm = member.toString();
+            String args = stringForm.substring(stringForm.indexOf('('),
+                                               stringForm.indexOf(')') + 1);
+            sb.append(UNQUALIFY.matcher(args).replaceAll("$1"));
+        }
+        return sb.toString();
+    }
+}